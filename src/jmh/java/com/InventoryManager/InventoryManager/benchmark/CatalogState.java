@@ -0,0 +1,85 @@
+package com.InventoryManager.InventoryManager.benchmark;
+
+import com.InventoryManager.InventoryManager.InventoryManagerApplication;
+import com.InventoryManager.InventoryManager.dto.BulkItemResultDTO;
+import com.InventoryManager.InventoryManager.dto.BulkProductOperationDTO;
+import com.InventoryManager.InventoryManager.dto.BulkProductOperationDTO.Action;
+import com.InventoryManager.InventoryManager.dto.BulkResultDTO;
+import com.InventoryManager.InventoryManager.dto.ProductRequestDTO;
+import com.InventoryManager.InventoryManager.repository.ProductRepository;
+import com.InventoryManager.InventoryManager.service.ProductBulkService;
+import com.InventoryManager.InventoryManager.service.ProductService;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.IntStream;
+
+/**
+ * The application context without the web layer, on an embedded H2 seeded with {@code catalogSize} products.
+ * Each fork starts its own context, so benchmarks never see each other's writes.
+ */
+@State(Scope.Benchmark)
+public class CatalogState {
+    static final String[] CATEGORIES = {"Electronics", "Books", "Home Goods", "Groceries", "Apparel",
+            "Toys", "Garden", "Sports", "Beauty", "Office"};
+    static final String[] NOUNS = {"Apple", "Banana", "Cable", "Desk", "Lamp", "Mouse", "Paper", "Shoe", "Table", "Watch"};
+
+    @Param({"1000", "10000", "100000"})
+    public int catalogSize;
+
+    ConfigurableApplicationContext context;
+    ProductService productService;
+    ProductBulkService productBulkService;
+    ProductRepository productRepository;
+    private Long[] ids;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = new SpringApplicationBuilder(InventoryManagerApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:benchmark",
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=WARN")
+                .run();
+        productService = context.getBean(ProductService.class);
+        productBulkService = context.getBean(ProductBulkService.class);
+        productRepository = context.getBean(ProductRepository.class);
+
+        Random random = new Random(42);
+        BulkResultDTO seeded = productBulkService.apply(IntStream.range(0, catalogSize)
+                .mapToObj(i -> new BulkProductOperationDTO(Action.CREATE, null, product(i, random)))
+                .iterator());
+        ids = seeded.getResults().stream().map(BulkItemResultDTO::getId).toArray(Long[]::new);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    Long randomId() {
+        return ids[ThreadLocalRandom.current().nextInt(ids.length)];
+    }
+
+    static ProductRequestDTO product(int i, Random random) {
+        return new ProductRequestDTO(
+                NOUNS[random.nextInt(NOUNS.length)] + " " + i,
+                CATEGORIES[random.nextInt(CATEGORIES.length)],
+                BigDecimal.valueOf(100 + random.nextInt(100_000), 2),
+                random.nextBoolean() ? LocalDate.now().plusDays(random.nextInt(365)) : null,
+                // About a fifth of the catalog is out of stock
+                random.nextInt(5) == 0 ? 0 : random.nextInt(200));
+    }
+}
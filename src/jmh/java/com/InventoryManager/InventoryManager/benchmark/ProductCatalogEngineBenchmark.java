@@ -0,0 +1,95 @@
+package com.InventoryManager.InventoryManager.benchmark;
+
+import com.InventoryManager.InventoryManager.InventoryManagerApplication;
+import com.InventoryManager.InventoryManager.dto.ProductFilterDTO;
+import com.InventoryManager.InventoryManager.dto.ProductResponseDTO;
+import com.InventoryManager.InventoryManager.repository.ProductRepository;
+import com.InventoryManager.InventoryManager.service.ProductCatalogEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The listing filters answered by the in-memory catalog engine and by the database, one page of 10 sorted by name,
+ * on catalogs written by the startup seeder. Needs a large heap for 10M products, e.g. {@code -jvmArgs -Xmx16g}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ProductCatalogEngineBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class LargeCatalog {
+        @Param({"1000000", "10000000"})
+        public int catalogSize;
+
+        ConfigurableApplicationContext context;
+        ProductCatalogEngine productCatalogEngine;
+        ProductRepository productRepository;
+
+        @Setup(Level.Trial)
+        public void start() {
+            context = new SpringApplicationBuilder(InventoryManagerApplication.class)
+                    .web(WebApplicationType.NONE)
+                    .properties(
+                            "spring.datasource.url=jdbc:h2:mem:enginebenchmark",
+                            "spring.main.banner-mode=off",
+                            "logging.level.root=WARN",
+                            "inventory.seed.products=" + catalogSize,
+                            "inventory.seed.categories=10",
+                            "inventory.expiry.sweep-enabled=false",
+                            "inventory.catalog-engine.enabled=true")
+                    .run();
+            productCatalogEngine = context.getBean(ProductCatalogEngine.class);
+            productRepository = context.getBean(ProductRepository.class);
+        }
+
+        @TearDown(Level.Trial)
+        public void stop() {
+            context.close();
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Filters {
+        @Param({"none", "name", "category", "inStock", "name+category", "category+inStock", "name+category+inStock"})
+        public String filters;
+
+        ProductFilterDTO filter;
+        final PageRequest pageable = PageRequest.of(2, 10, Sort.by("name"));
+
+        @Setup
+        public void parse() {
+            List<String> enabled = List.of(filters.split("\\+"));
+            filter = new ProductFilterDTO(
+                    enabled.contains("name") ? "able" : null,
+                    enabled.contains("category") ? List.of("Books", "Toys") : null,
+                    enabled.contains("inStock") ? Boolean.TRUE : null);
+        }
+    }
+
+    @Benchmark
+    public Page<ProductResponseDTO> engine(LargeCatalog catalog, Filters filters) {
+        return catalog.productCatalogEngine.find(filters.filter, filters.pageable).orElseThrow();
+    }
+
+    @Benchmark
+    public Page<ProductResponseDTO> database(LargeCatalog catalog, Filters filters) {
+        return catalog.productRepository.findResponsesByFilters(filters.filter, filters.pageable);
+    }
+}
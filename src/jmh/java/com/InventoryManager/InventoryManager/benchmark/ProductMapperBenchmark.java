@@ -0,0 +1,34 @@
+package com.InventoryManager.InventoryManager.benchmark;
+
+import com.InventoryManager.InventoryManager.dto.ProductResponseDTO;
+import com.InventoryManager.InventoryManager.model.ProductModel;
+import com.InventoryManager.InventoryManager.service.ProductMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class ProductMapperBenchmark {
+    private ProductModel product;
+
+    @Setup
+    public void createProduct() {
+        product = new ProductModel(1L, "Desk 1", "Office", new BigDecimal("129.99"), LocalDate.now().plusDays(30),
+                12, LocalDate.now(), LocalDate.now(), null);
+    }
+
+    @Benchmark
+    public ProductResponseDTO toProductResponseDTO() {
+        return ProductMapper.toProductResponseDTO(product);
+    }
+}
@@ -0,0 +1,66 @@
+package com.InventoryManager.InventoryManager.benchmark;
+
+import com.InventoryManager.InventoryManager.dto.ProductFilterDTO;
+import com.InventoryManager.InventoryManager.dto.ProductResponseDTO;
+import com.InventoryManager.InventoryManager.service.ProductMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity reads mapped to response DTOs against the same reads projected in the query. Run with {@code -prof gc}
+ * for the bytes allocated per call ({@code gc.alloc.rate.norm}).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ProductProjectionBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Pages {
+        @Param({"10", "100"})
+        public int pageSize;
+
+        final ProductFilterDTO filter = new ProductFilterDTO(null, List.of("Books", "Toys"), null);
+        PageRequest pageable;
+
+        @Setup
+        public void build() {
+            pageable = PageRequest.of(2, pageSize, Sort.by("name"));
+        }
+    }
+
+    @Benchmark
+    public Page<ProductResponseDTO> entityPage(CatalogState catalog, Pages pages) {
+        return catalog.productRepository.findProductsByFilters(pages.filter, pages.pageable)
+                .map(ProductMapper::toProductResponseDTO);
+    }
+
+    @Benchmark
+    public Page<ProductResponseDTO> projectedPage(CatalogState catalog, Pages pages) {
+        return catalog.productRepository.findResponsesByFilters(pages.filter, pages.pageable);
+    }
+
+    /** Straight from the database on both sides, so the second-level cache does not favour the entity path. */
+    @Benchmark
+    public ProductResponseDTO entityById(CatalogState catalog) {
+        return catalog.productRepository.findUncachedById(catalog.randomId())
+                .map(ProductMapper::toProductResponseDTO)
+                .orElseThrow();
+    }
+
+    @Benchmark
+    public ProductResponseDTO projectedById(CatalogState catalog) {
+        return catalog.productRepository.findResponseById(catalog.randomId()).orElseThrow();
+    }
+}
@@ -0,0 +1,47 @@
+package com.InventoryManager.InventoryManager.benchmark;
+
+import com.InventoryManager.InventoryManager.dto.ProductFilterDTO;
+import com.InventoryManager.InventoryManager.dto.ProductResponseDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/** The listing endpoint's service call for each combination of filters, one sorted page of 10. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ProductQueryBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Filters {
+        @Param({"none", "name", "category", "inStock", "name+category", "category+inStock", "name+category+inStock"})
+        public String filters;
+
+        ProductFilterDTO filter;
+        final PageRequest pageable = PageRequest.of(2, 10, Sort.by("name"));
+
+        @Setup
+        public void parse() {
+            List<String> enabled = List.of(filters.split("\\+"));
+            filter = new ProductFilterDTO(
+                    enabled.contains("name") ? "able" : null,
+                    enabled.contains("category") ? List.of("Books", "Toys") : null,
+                    enabled.contains("inStock") ? Boolean.TRUE : null);
+        }
+    }
+
+    @Benchmark
+    public Page<ProductResponseDTO> getAllProducts(CatalogState catalog, Filters filters) {
+        return catalog.productService.getAllProducts(filters.filter, filters.pageable);
+    }
+}
@@ -0,0 +1,64 @@
+package com.InventoryManager.InventoryManager.benchmark;
+
+import com.InventoryManager.InventoryManager.dto.CategoryAggregateDTO;
+import com.InventoryManager.InventoryManager.dto.CategoryMetricsDTO;
+import com.InventoryManager.InventoryManager.dto.ProductResponseDTO;
+import com.InventoryManager.InventoryManager.model.ProductModel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ProductReadBenchmark {
+
+    private static String randomCategory() {
+        return CatalogState.CATEGORIES[ThreadLocalRandom.current().nextInt(CatalogState.CATEGORIES.length)];
+    }
+
+    /** Through the product cache, as served by GET /api/products/{id}. */
+    @Benchmark
+    public ProductResponseDTO getProductById(CatalogState catalog) {
+        return catalog.productService.getProductById(catalog.randomId());
+    }
+
+    /** Entity load without the product cache (second-level cache, then database). */
+    @Benchmark
+    public Optional<ProductModel> repositoryFindById(CatalogState catalog) {
+        return catalog.productRepository.findById(catalog.randomId());
+    }
+
+    /** Entity load straight from the database. */
+    @Benchmark
+    public Optional<ProductModel> repositoryFindUncachedById(CatalogState catalog) {
+        return catalog.productRepository.findUncachedById(catalog.randomId());
+    }
+
+    @Benchmark
+    public CategoryMetricsDTO getCategoryMetrics(CatalogState catalog) {
+        return catalog.productService.getCategoryMetrics(randomCategory());
+    }
+
+    @Benchmark
+    public Integer getTotalProductsInStockInCategory(CatalogState catalog) {
+        return catalog.productService.getTotalProductsInStockInCategory(randomCategory());
+    }
+
+    @Benchmark
+    public BigDecimal getAverageValue(CatalogState catalog) {
+        return catalog.productService.getAverageValue();
+    }
+
+    /** The GROUP BY query the in-memory category aggregates are rebuilt from. */
+    @Benchmark
+    public List<CategoryAggregateDTO> repositoryCategoryAggregates(CatalogState catalog) {
+        return catalog.productRepository.getCategoryAggregates();
+    }
+}
@@ -0,0 +1,58 @@
+package com.InventoryManager.InventoryManager.benchmark;
+
+import com.InventoryManager.InventoryManager.dto.BulkProductOperationDTO;
+import com.InventoryManager.InventoryManager.dto.BulkProductOperationDTO.Action;
+import com.InventoryManager.InventoryManager.dto.ProductRequestDTO;
+import com.InventoryManager.InventoryManager.dto.ProductResponseDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ProductWriteBenchmark {
+
+    @State(Scope.Thread)
+    public static class Requests {
+        final Random random = new Random(7);
+        final List<Long> created = new ArrayList<>();
+        int next;
+
+        ProductRequestDTO nextProduct() {
+            return CatalogState.product(next++, random);
+        }
+
+        // Keep the catalog at its seeded size between iterations
+        @TearDown(Level.Iteration)
+        public void deleteCreated(CatalogState catalog) {
+            if (!created.isEmpty()) {
+                catalog.productBulkService.apply(created.stream()
+                        .map(id -> new BulkProductOperationDTO(Action.DELETE, id, null))
+                        .iterator());
+                created.clear();
+            }
+        }
+    }
+
+    @Benchmark
+    public ProductResponseDTO createProduct(CatalogState catalog, Requests requests) {
+        ProductResponseDTO product = catalog.productService.createProduct(requests.nextProduct());
+        requests.created.add(product.getId());
+        return product;
+    }
+
+    @Benchmark
+    public ProductResponseDTO updateProduct(CatalogState catalog, Requests requests) {
+        return catalog.productService.updateProduct(catalog.randomId(), requests.nextProduct());
+    }
+}
@@ -0,0 +1,111 @@
+package com.InventoryManager.InventoryManager.benchmark;
+
+import com.InventoryManager.InventoryManager.dto.CategoryMetricsDTO;
+import com.InventoryManager.InventoryManager.dto.CategoryMetricsSummaryDTO;
+import com.InventoryManager.InventoryManager.dto.ProductFields;
+import com.InventoryManager.InventoryManager.dto.ProductResponseDTO;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Writing response bodies as JSON, CBOR and Smile: a page of {@code pageSize} products, or the metrics of ten
+ * categories. Needs no application context. The {@code payloadBytes} column is the size of one body; run with a
+ * single thread so it is not summed across threads.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class WireFormatBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Payloads {
+        @Param({"json", "cbor", "smile"})
+        public String format;
+
+        @Param({"page", "metrics"})
+        public String payload;
+
+        @Param({"1000"})
+        public int pageSize;
+
+        ObjectMapper objectMapper;
+        Object body;
+
+        @Setup
+        public void build() {
+            JsonFactory factory = switch (format) {
+                case "json" -> new JsonFactory();
+                case "cbor" -> new CBORFactory();
+                case "smile" -> new SmileFactory();
+                default -> throw new IllegalArgumentException("Unknown format " + format);
+            };
+            // The builder the application's converters start from, so dates and decimals are written the same way
+            objectMapper = Jackson2ObjectMapperBuilder.json().factory(factory).filters(ProductFields.serializeAll()).build();
+            Random random = new Random(42);
+            body = switch (payload) {
+                case "page" -> new PageImpl<>(IntStream.range(0, pageSize).mapToObj(i -> product(i, random)).toList(),
+                        PageRequest.of(3, pageSize, Sort.by("name")), 100_000);
+                case "metrics" -> metrics(random);
+                default -> throw new IllegalArgumentException("Unknown payload " + payload);
+            };
+        }
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Size {
+        public long payloadBytes;
+    }
+
+    @Benchmark
+    public byte[] write(Payloads payloads, Size size) throws Exception {
+        byte[] bytes = payloads.objectMapper.writeValueAsBytes(payloads.body);
+        size.payloadBytes = bytes.length;
+        return bytes;
+    }
+
+    private static ProductResponseDTO product(int i, Random random) {
+        int stock = random.nextInt(5) == 0 ? 0 : random.nextInt(200);
+        LocalDate created = LocalDate.of(2025, 1, 1).plusDays(random.nextInt(365));
+        return new ProductResponseDTO(100_000L + i,
+                CatalogState.NOUNS[random.nextInt(CatalogState.NOUNS.length)] + " " + i,
+                CatalogState.CATEGORIES[random.nextInt(CatalogState.CATEGORIES.length)],
+                BigDecimal.valueOf(100 + random.nextInt(100_000), 2),
+                random.nextBoolean() ? created.plusDays(random.nextInt(365)) : null,
+                stock, created, created.plusDays(random.nextInt(30)), stock > 0, (long) random.nextInt(10));
+    }
+
+    private static CategoryMetricsSummaryDTO metrics(Random random) {
+        Map<String, CategoryMetricsDTO> categories = new TreeMap<>();
+        for (String category : CatalogState.CATEGORIES) {
+            categories.put(category, new CategoryMetricsDTO(random.nextInt(1_000_000),
+                    BigDecimal.valueOf(random.nextInt(100_000_000), 2), BigDecimal.valueOf(random.nextInt(100_000), 2),
+                    (long) random.nextInt(100_000), (long) random.nextInt(10_000),
+                    BigDecimal.valueOf(random.nextLong(10_000_000_000L), 2)));
+        }
+        return new CategoryMetricsSummaryDTO(categories, new CategoryMetricsDTO(10_000_000,
+                new BigDecimal("51234567.89"), new BigDecimal("51.23"), 1_000_000L, 20_000L, new BigDecimal("9876543210.12")));
+    }
+}
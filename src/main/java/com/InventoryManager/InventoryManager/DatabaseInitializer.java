@@ -1,53 +1,37 @@
 package com.InventoryManager.InventoryManager;
 
-import com.InventoryManager.InventoryManager.model.ProductModel;
+import com.InventoryManager.InventoryManager.config.CatalogSeedProperties;
 import com.InventoryManager.InventoryManager.repository.ProductRepository;
+import com.InventoryManager.InventoryManager.service.CatalogSeeder;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.stereotype.Component;
-import java.math.BigDecimal;
-import java.time.LocalDate;
-import java.util.Random;
 
 @Component
 public class DatabaseInitializer implements CommandLineRunner {
 
     private final ProductRepository productRepository;
+    private final CatalogSeeder catalogSeeder;
+    private final CatalogSeedProperties seedProperties;
 
-    public DatabaseInitializer(ProductRepository productRepository) {
+    public DatabaseInitializer(ProductRepository productRepository, CatalogSeeder catalogSeeder,
+                               CatalogSeedProperties seedProperties) {
         this.productRepository = productRepository;
+        this.catalogSeeder = catalogSeeder;
+        this.seedProperties = seedProperties;
     }
 
     @Override
     public void run(String... args) throws Exception {
-        if (productRepository.count() == 0) {
+        if (!seedProperties.isEnabled()) {
+            System.out.println("Sample data is disabled. Skipping database initialization.");
+        } else if (productRepository.count() == 0) {
             System.out.println("No products found in the database. Populating with sample data...");
-            generateAndSaveSampleProducts(20);
-            System.out.println("Successfully added 20 sample products to the database.");
+            long start = System.nanoTime();
+            long seed = catalogSeeder.seedCatalog();
+            System.out.printf("Successfully added %d sample products to the database in %.1fs (inventory.seed.seed=%d).%n",
+                    seedProperties.getProducts(), (System.nanoTime() - start) / 1e9, seed);
         } else {
             System.out.println("Products already exist. Skipping database initialization.");
         }
     }
-
-    private void generateAndSaveSampleProducts(int count) {
-        Random random = new Random();
-        String[] categories = {"Electronics", "Books", "Home Goods", "Groceries", "Apparel"};
-
-        for (int i = 1; i <= count; i++) {
-            ProductModel product = new ProductModel();
-
-            product.setName("Sample Product " + i);
-            product.setCategory(categories[random.nextInt(categories.length)]);
-            product.setUnitPrice(BigDecimal.valueOf(10 + random.nextDouble() * 100));
-            product.setStockQuantity(random.nextInt(200));
-
-            if (random.nextBoolean()) {
-                product.setExpirationDate(LocalDate.now().plusDays(random.nextInt(365)));
-            } else {
-                product.setExpirationDate(null);
-            }
-
-            productRepository.save(product);
-        }
-    }
 }
-
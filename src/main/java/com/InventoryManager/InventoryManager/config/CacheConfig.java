@@ -0,0 +1,73 @@
+package com.InventoryManager.InventoryManager.config;
+
+import com.InventoryManager.InventoryManager.dto.ProductResponseDTO;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.UUID;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+    public static final String PRODUCTS_CACHE = "products";
+
+    @Bean
+    public CacheManager cacheManager(
+            @Value("${inventory.cache.products.maximum-size:10000}") long maximumSize,
+            @Value("${inventory.cache.products.ttl:10m}") Duration ttl) {
+        // Products are mutable DTOs, so the cache keeps its own copy and hands every caller another one
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(PRODUCTS_CACHE) {
+            @Override
+            protected Cache adaptCaffeineCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache) {
+                return new CaffeineCache(name, cache, isAllowNullValues()) {
+                    @Override
+                    protected Object toStoreValue(Object userValue) {
+                        return super.toStoreValue(copy(userValue));
+                    }
+
+                    @Override
+                    protected Object fromStoreValue(Object storeValue) {
+                        return copy(super.fromStoreValue(storeValue));
+                    }
+                };
+            }
+        };
+        cacheManager.setCaffeine(Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()); // Hit, miss and eviction counts are published as cache.* metrics by the actuator
+        cacheManager.setAllowNullValues(false);
+        return cacheManager;
+    }
+
+    private static Object copy(Object value) {
+        return value instanceof ProductResponseDTO product ? product.copy() : value;
+    }
+
+    // The JCache provider hands out one cache manager per URI, and the second-level cache regions are named after the
+    // entities. Each persistence unit gets a manager of its own, so application contexts sharing the JVM (two
+    // instances, or the test contexts Spring caches) never read each other's products. Closed with the context
+    @Bean
+    public javax.cache.CacheManager secondLevelCacheManager() {
+        return Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("inventory-manager-" + UUID.randomUUID()), getClass().getClassLoader());
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(javax.cache.CacheManager secondLevelCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, secondLevelCacheManager);
+    }
+}
@@ -0,0 +1,9 @@
+package com.InventoryManager.InventoryManager.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(CatalogSeedProperties.class)
+public class CatalogSeedConfig {
+}
@@ -0,0 +1,64 @@
+package com.InventoryManager.InventoryManager.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Shape of the synthetic catalog written into an empty database on startup ({@code inventory.seed.*}).
+ * The same seed, base date and distributions always produce the same rows, whatever the thread count or batch size.
+ */
+@Getter
+@Setter
+@ConfigurationProperties("inventory.seed")
+public class CatalogSeedProperties {
+
+    public enum Distribution {
+        UNIFORM,
+        // Every order of magnitude is equally likely, so cheap items vastly outnumber expensive ones
+        LOG_UNIFORM
+    }
+
+    private boolean enabled = true;
+    private long products = 20;
+    private int categories = 5;
+    // Zipf exponent of the category popularity: 0 spreads products evenly, 1 makes category k hold 1/k as many as the first
+    private double categorySkew = 0;
+    // Unset picks a random seed, which is logged so the run can be repeated
+    private Long seed;
+    // Expiration dates are relative to this day; unset uses today
+    private LocalDate baseDate;
+    private int threads = 4;
+    private int batchSize = 1000;
+    private Price price = new Price();
+    private Stock stock = new Stock();
+    private Expiry expiry = new Expiry();
+
+    @Getter
+    @Setter
+    public static class Price {
+        private BigDecimal min = new BigDecimal("10.00");
+        private BigDecimal max = new BigDecimal("110.00");
+        private Distribution distribution = Distribution.UNIFORM;
+    }
+
+    @Getter
+    @Setter
+    public static class Stock {
+        private int max = 199;
+        private Distribution distribution = Distribution.UNIFORM;
+        private double outOfStockRatio = 0.005;
+    }
+
+    @Getter
+    @Setter
+    public static class Expiry {
+        private double ratio = 0.5;
+        // A negative minimum seeds products that have already expired
+        private int minDays = 0;
+        private int maxDays = 364;
+    }
+}
@@ -0,0 +1,65 @@
+package com.InventoryManager.InventoryManager.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+
+@Configuration
+public class DatabaseGateConfig {
+    // Hikari's own default; its maximumPoolSize reads -1 until the pool is started
+    private static final int DEFAULT_POOL_SIZE = 10;
+
+    // Static so the post-processor is registered before the DataSource bean is created
+    @Bean
+    static BeanPostProcessor databaseGatePostProcessor(Environment environment) {
+        Binder binder = Binder.get(environment);
+        boolean enabled = binder.bind("inventory.db-gate.enabled", Boolean.class).orElse(true);
+        int permits = binder.bind("inventory.db-gate.permits", Integer.class).orElse(0);
+        Duration maxWait = binder.bind("inventory.db-gate.max-wait", Duration.class).orElse(Duration.ofSeconds(5));
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!enabled || !(bean instanceof DataSource dataSource) || bean instanceof GatedDataSource) {
+                    return bean;
+                }
+                // By default one permit per pooled connection, so nothing ever waits inside the pool itself
+                int size = permits > 0 ? permits : poolSize(dataSource);
+                return new GatedDataSource(dataSource, size, maxWait);
+            }
+        };
+    }
+
+    // With read replicas the gate sits in front of every pool and lets through as many callers as they hold together
+    private static int poolSize(DataSource dataSource) {
+        if (dataSource instanceof HikariDataSource hikari && hikari.getMaximumPoolSize() > 0) {
+            return hikari.getMaximumPoolSize();
+        }
+        if (dataSource instanceof LazyConnectionDataSourceProxy proxy
+                && proxy.getTargetDataSource() instanceof ReplicaRoutingDataSource routing) {
+            return routing.getTotalPoolSize();
+        }
+        return DEFAULT_POOL_SIZE;
+    }
+
+    @Bean
+    public MeterBinder databaseGateMetrics(DataSource dataSource) {
+        return registry -> {
+            try {
+                if (dataSource.isWrapperFor(GatedDataSource.class)) {
+                    dataSource.unwrap(GatedDataSource.class).bindTo(registry);
+                }
+            } catch (SQLException e) {
+                throw new IllegalStateException("Could not bind database gate metrics", e);
+            }
+        };
+    }
+}
@@ -2,14 +2,22 @@ package com.InventoryManager.InventoryManager.config;
 
 import com.InventoryManager.InventoryManager.dto.ErrorResponseDTO;
 import com.InventoryManager.InventoryManager.dto.ProductException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.TransactionSystemException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
 import java.time.LocalDateTime;
+import java.util.stream.Collectors;
 
 @RestControllerAdvice
 public class ExceptionConfig extends ResponseEntityExceptionHandler {
@@ -26,6 +34,57 @@ public class ExceptionConfig extends ResponseEntityExceptionHandler {
         return new ResponseEntity<>(errorResponse, ex.getStatus());
     }
 
+    // The product broke a constraint of the entity, e.g. a price with fractions of a cent
+    @ExceptionHandler(ConstraintViolationException.class)
+    protected ResponseEntity<ErrorResponseDTO> handleConstraintViolation(ConstraintViolationException ex, WebRequest request) {
+        String path = ((ServletWebRequest) request).getRequest().getRequestURI();
+        ErrorResponseDTO errorResponse = new ErrorResponseDTO(
+                LocalDateTime.now(),
+                HttpStatus.BAD_REQUEST.value(),
+                HttpStatus.BAD_REQUEST.getReasonPhrase(),
+                ex.getConstraintViolations().stream().map(ConstraintViolation::getMessage).sorted().collect(Collectors.joining(", ")),
+                path
+        );
+        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+    }
+
+    // Entities inserted at commit are validated there, so the violation arrives wrapped
+    @ExceptionHandler(TransactionSystemException.class)
+    protected ResponseEntity<ErrorResponseDTO> handleCommitFailure(TransactionSystemException ex, WebRequest request) {
+        if (NestedExceptionUtils.getMostSpecificCause(ex) instanceof ConstraintViolationException violation) {
+            return handleConstraintViolation(violation, request);
+        }
+        return handleAllExceptions(ex, request);
+    }
+
+    // No connection within the database gate's wait (or the pool's timeout): tell clients to back off and retry
+    @ExceptionHandler({CannotCreateTransactionException.class, DataAccessResourceFailureException.class})
+    protected ResponseEntity<ErrorResponseDTO> handleDatabaseUnavailable(Exception ex, WebRequest request) {
+        String path = ((ServletWebRequest) request).getRequest().getRequestURI();
+        ErrorResponseDTO errorResponse = new ErrorResponseDTO(
+                LocalDateTime.now(),
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                HttpStatus.SERVICE_UNAVAILABLE.getReasonPhrase(),
+                NestedExceptionUtils.getMostSpecificCause(ex).getMessage(),
+                path
+        );
+        return new ResponseEntity<>(errorResponse, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    // The product changed since the client (or a concurrent update) read it; re-read and retry
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    protected ResponseEntity<ErrorResponseDTO> handleVersionConflict(OptimisticLockingFailureException ex, WebRequest request) {
+        String path = ((ServletWebRequest) request).getRequest().getRequestURI();
+        ErrorResponseDTO errorResponse = new ErrorResponseDTO(
+                LocalDateTime.now(),
+                HttpStatus.CONFLICT.value(),
+                HttpStatus.CONFLICT.getReasonPhrase(),
+                NestedExceptionUtils.getMostSpecificCause(ex).getMessage(),
+                path
+        );
+        return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
+    }
+
     @ExceptionHandler(Exception.class)
     protected ResponseEntity<ErrorResponseDTO> handleAllExceptions(Exception ex, WebRequest request) {
         String path = ((ServletWebRequest) request).getRequest().getRequestURI();
@@ -0,0 +1,131 @@
+package com.InventoryManager.InventoryManager.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.jdbc.datasource.ConnectionProxy;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Bulkhead in front of the connection pool. Callers queue on a fair semaphore with one permit per pooled connection
+ * and give up with a transient error after {@code maxWait}, instead of piling up inside the pool until its own
+ * timeout. A waiting virtual thread is parked and releases its carrier.
+ */
+public class GatedDataSource extends DelegatingDataSource {
+
+    @FunctionalInterface
+    private interface ConnectionSupplier {
+        Connection get() throws SQLException;
+    }
+
+    private final Semaphore permits;
+    private final int size;
+    private final Duration maxWait;
+    private volatile Timer waitTimer;
+    private volatile Counter rejectedCounter;
+
+    public GatedDataSource(DataSource target, int size, Duration maxWait) {
+        super(target);
+        this.permits = new Semaphore(size, true);
+        this.size = size;
+        this.maxWait = maxWait;
+    }
+
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("inventory.db.gate.queued", permits, Semaphore::getQueueLength)
+                .description("Callers waiting for a database permit")
+                .register(registry);
+        Gauge.builder("inventory.db.gate.active", permits, p -> size - p.availablePermits())
+                .description("Database permits in use")
+                .register(registry);
+        waitTimer = Timer.builder("inventory.db.gate.wait")
+                .description("Time spent waiting for a database permit")
+                .register(registry);
+        rejectedCounter = Counter.builder("inventory.db.gate.rejected")
+                .description("Callers that gave up waiting for a database permit")
+                .register(registry);
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return gate(super::getConnection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return gate(() -> super.getConnection(username, password));
+    }
+
+    private Connection gate(ConnectionSupplier supplier) throws SQLException {
+        long start = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(maxWait.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for a database permit", e);
+        } finally {
+            if (waitTimer != null) {
+                waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        }
+        if (!acquired) {
+            if (rejectedCounter != null) {
+                rejectedCounter.increment();
+            }
+            throw new SQLTransientConnectionException("Timed out after " + maxWait.toMillis()
+                    + "ms waiting for one of " + size + " database permits");
+        }
+        try {
+            return releasingOnClose(supplier.get());
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    private Connection releasingOnClose(Connection target) {
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(ConnectionProxy.class.getClassLoader(),
+                new Class<?>[]{ConnectionProxy.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "getTargetConnection" -> target;
+                    case "close" -> {
+                        try {
+                            target.close();
+                        } finally {
+                            // Closing twice is legal JDBC; only the first close gives the permit back
+                            if (released.compareAndSet(false, true)) {
+                                permits.release();
+                            }
+                        }
+                        yield null;
+                    }
+                    default -> {
+                        try {
+                            yield method.invoke(target, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getTargetException();
+                        }
+                    }
+                });
+    }
+}
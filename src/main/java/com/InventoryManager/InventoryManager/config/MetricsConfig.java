@@ -0,0 +1,62 @@
+package com.InventoryManager.InventoryManager.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.HibernateQueryMetrics;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJacksonValue;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+@Configuration
+public class MetricsConfig {
+
+    /** Backs the {@code @Timed} annotations on the service classes. */
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+
+    /** One {@code hibernate.query} timer per distinct HQL/criteria statement, including the count queries of pages. */
+    @Bean
+    public MeterBinder hibernateQueryMetrics(EntityManagerFactory entityManagerFactory) {
+        // Unwrap to the implementor: the plain SessionFactory is a proxy, which HibernateQueryMetrics silently ignores
+        return registry -> new HibernateQueryMetrics(
+                entityManagerFactory.unwrap(SessionFactoryImplementor.class), "entityManagerFactory", Tags.empty()).bindTo(registry);
+    }
+
+    /** Replaces Boot's Jackson converter with one that times writing each response body, tagged by payload type. */
+    @Bean
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper, MeterRegistry registry) {
+        return new MappingJackson2HttpMessageConverter(objectMapper) {
+            @Override
+            protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage) throws IOException {
+                Timer.Sample sample = Timer.start(registry);
+                try {
+                    super.writeInternal(object, type, outputMessage);
+                } finally {
+                    sample.stop(Timer.builder("inventory.json.write")
+                            .description("Serializing and writing a JSON response body")
+                            .tag("type", payloadType(object))
+                            .register(registry));
+                }
+            }
+        };
+    }
+
+    // Sparse product reads hand the converters their body wrapped with its field filter
+    static String payloadType(Object body) {
+        Object payload = body instanceof MappingJacksonValue value ? value.getValue() : body;
+        return payload.getClass().getSimpleName();
+    }
+}
@@ -0,0 +1,67 @@
+package com.InventoryManager.InventoryManager.config;
+
+import java.util.function.Supplier;
+
+/**
+ * Per-thread routing decision for the replica DataSource. A thread reads from a replica only inside a
+ * {@link ReplicaRead} method and only while nothing has forced it onto the primary.
+ */
+public final class ReadRouting {
+    /** Request header that keeps every read of the request on the primary, e.g. right after the client wrote. */
+    public static final String CONSISTENCY_HEADER = "X-Read-Consistency";
+    public static final String PRIMARY = "primary";
+    /** Cookie a write sets with the time, in epoch milliseconds, until which the writer's reads stay on the primary. */
+    public static final String PRIMARY_UNTIL_COOKIE = "inventory-primary-until";
+
+    private static final ThreadLocal<Boolean> replicaAllowed = new ThreadLocal<>();
+    private static final ThreadLocal<Boolean> primaryForced = new ThreadLocal<>();
+
+    private ReadRouting() {
+    }
+
+    /** Runs {@code read} against the primary, even where it would otherwise go to a replica. */
+    public static <T> T onPrimary(Supplier<T> read) {
+        Boolean previous = primaryForced.get();
+        primaryForced.set(true);
+        try {
+            return read.get();
+        } finally {
+            restore(primaryForced, previous);
+        }
+    }
+
+    static boolean useReplica() {
+        return Boolean.TRUE.equals(replicaAllowed.get()) && !Boolean.TRUE.equals(primaryForced.get());
+    }
+
+    static boolean primaryForced() {
+        return Boolean.TRUE.equals(primaryForced.get());
+    }
+
+    static Boolean allowReplica() {
+        Boolean previous = replicaAllowed.get();
+        replicaAllowed.set(true);
+        return previous;
+    }
+
+    static void endReplica(Boolean previous) {
+        restore(replicaAllowed, previous);
+    }
+
+    static void forcePrimary() {
+        primaryForced.set(true);
+    }
+
+    static void clear() {
+        replicaAllowed.remove();
+        primaryForced.remove();
+    }
+
+    private static void restore(ThreadLocal<Boolean> local, Boolean previous) {
+        if (previous == null) {
+            local.remove();
+        } else {
+            local.set(previous);
+        }
+    }
+}
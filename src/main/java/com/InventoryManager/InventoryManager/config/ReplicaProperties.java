@@ -0,0 +1,35 @@
+package com.InventoryManager.InventoryManager.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read replicas that take the catalog's read-only queries off the primary ({@code inventory.replicas.*}).
+ * The primary stays the one configured under {@code spring.datasource.*}.
+ */
+@Getter
+@Setter
+@ConfigurationProperties("inventory.replicas")
+public class ReplicaProperties {
+
+    private boolean enabled = false;
+    private List<Pool> pools = new ArrayList<>();
+    // How far the replicas may trail the primary; a client's reads stay on the primary for this long after its write
+    private Duration maxLag = Duration.ofSeconds(1);
+    // Runs the schema migrations on each replica at startup, for embedded databases standing in for real replicas
+    private boolean migrate = false;
+
+    @Getter
+    @Setter
+    public static class Pool {
+        private String url;
+        private String username;
+        private String password;
+        private int maximumPoolSize = 10;
+    }
+}
@@ -0,0 +1,15 @@
+package com.InventoryManager.InventoryManager.config;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a read that may be answered by a replica. Only a method that tolerates data up to
+ * {@code inventory.replicas.max-lag} old should carry it; everything else keeps reading from the primary.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ReplicaRead {
+}
@@ -0,0 +1,178 @@
+package com.InventoryManager.InventoryManager.config;
+
+import com.InventoryManager.InventoryManager.service.CatalogVersions;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.flywaydb.core.Flyway;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DatabaseDriver;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpMethod;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Replaces the single connection pool with a primary pool and one pool per read replica, all publishing their own
+ * {@code hikaricp.*} metrics tagged by pool name. Off unless {@code inventory.replicas.enabled} is set.
+ */
+@Configuration
+@ConditionalOnProperty(name = "inventory.replicas.enabled", havingValue = "true")
+@EnableConfigurationProperties(ReplicaProperties.class)
+public class ReplicaRoutingConfig {
+    // Hikari's own default; its maximumPoolSize reads -1 until the pool is started
+    private static final int DEFAULT_POOL_SIZE = 10;
+
+    @Bean
+    public DataSource dataSource(
+            DataSourceProperties properties,
+            ReplicaProperties replicaProperties,
+            Environment environment,
+            MeterRegistry meterRegistry) {
+        if (replicaProperties.getPools().isEmpty()) {
+            throw new IllegalStateException("inventory.replicas.enabled is set but no inventory.replicas.pools are configured");
+        }
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        primary.setPoolName(ReplicaRoutingDataSource.PRIMARY_KEY);
+        if (primary.getMaximumPoolSize() < 1) {
+            primary.setMaximumPoolSize(DEFAULT_POOL_SIZE);
+        }
+        primary.setMetricRegistry(meterRegistry);
+
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (ReplicaProperties.Pool pool : replicaProperties.getPools()) {
+            if (replicaProperties.isMigrate()) {
+                migrate(pool, environment);
+            }
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName("replica-" + (replicas.size() + 1));
+            replica.setJdbcUrl(pool.getUrl());
+            replica.setUsername(pool.getUsername());
+            replica.setPassword(pool.getPassword());
+            replica.setMaximumPoolSize(pool.getMaximumPoolSize());
+            replica.setReadOnly(true);
+            replica.setMetricRegistry(meterRegistry);
+            replicas.add(replica);
+        }
+        return new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(primary, replicas, meterRegistry));
+    }
+
+    @Bean
+    public ReplicaReadAspect replicaReadAspect() {
+        return new ReplicaReadAspect();
+    }
+
+    @Bean
+    public WebMvcConfigurer readYourWrites(ReplicaProperties replicaProperties) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addInterceptor(new ReadYourWritesInterceptor(replicaProperties.getMaxLag())).addPathPatterns("/api/**");
+            }
+        };
+    }
+
+    // Same migrations as the primary, through a connection of its own since the replica pool is read-only
+    private static void migrate(ReplicaProperties.Pool pool, Environment environment) {
+        String vendor = DatabaseDriver.fromJdbcUrl(pool.getUrl()).getId();
+        String[] locations = Binder.get(environment).bind("spring.flyway.locations", String[].class)
+                .orElse(new String[] {"classpath:db/migration"});
+        Flyway.configure()
+                .dataSource(pool.getUrl(), pool.getUsername(), pool.getPassword())
+                .locations(Arrays.stream(locations).map(location -> location.replace("{vendor}", vendor)).toArray(String[]::new))
+                .load()
+                .migrate();
+    }
+
+    /**
+     * Lets {@link ReplicaRead} methods use a replica unless the thread was forced onto the primary. Runs outside the
+     * transaction, which only takes its connection once it needs one, and inside {@link SingleFlight}, so callers that
+     * share a read share its routing as well. Catalog tags trail the replicas' lag, see {@link CatalogVersions#catalogTag}.
+     */
+    @Aspect
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+    public static class ReplicaReadAspect {
+
+        @Around("@annotation(com.InventoryManager.InventoryManager.config.ReplicaRead)")
+        public Object route(ProceedingJoinPoint joinPoint) throws Throwable {
+            Boolean previous = ReadRouting.allowReplica();
+            try {
+                return joinPoint.proceed();
+            } finally {
+                ReadRouting.endReplica(previous);
+            }
+        }
+    }
+
+    /**
+     * Read-your-writes for the client that wrote, not for everyone: a write answers with a cookie holding the time
+     * until which the replicas may not have it, and requests carrying that cookie read from the primary until then.
+     * The time is the server's clock, so any instance behind the same load balancer honours it.
+     */
+    public static class ReadYourWritesInterceptor implements AsyncHandlerInterceptor {
+        private final Duration maxLag;
+
+        public ReadYourWritesInterceptor(Duration maxLag) {
+            this.maxLag = maxLag;
+        }
+
+        @Override
+        public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+            if (HttpMethod.GET.matches(request.getMethod()) || HttpMethod.HEAD.matches(request.getMethod())
+                    || HttpMethod.OPTIONS.matches(request.getMethod())) {
+                if (pinnedUntil(request) > System.currentTimeMillis()) {
+                    ReadRouting.forcePrimary();
+                }
+                return true;
+            }
+            // Set before the handler runs, while the response can still take headers; a write that then fails only
+            // keeps this client on the primary a little longer
+            Cookie cookie = new Cookie(ReadRouting.PRIMARY_UNTIL_COOKIE,
+                    Long.toString(System.currentTimeMillis() + maxLag.toMillis()));
+            cookie.setPath("/api");
+            cookie.setHttpOnly(true);
+            cookie.setMaxAge((int) Math.max(1, maxLag.toSeconds() + 1));
+            response.addCookie(cookie);
+            return true;
+        }
+
+        private static long pinnedUntil(HttpServletRequest request) {
+            Cookie[] cookies = request.getCookies();
+            if (cookies == null) {
+                return 0;
+            }
+            for (Cookie cookie : cookies) {
+                if (ReadRouting.PRIMARY_UNTIL_COOKIE.equals(cookie.getName())) {
+                    try {
+                        return Long.parseLong(cookie.getValue());
+                    } catch (NumberFormatException e) {
+                        return 0;
+                    }
+                }
+            }
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.InventoryManager.InventoryManager.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hands out primary connections, except to {@link ReplicaRead} methods, which get one from the replicas in turn.
+ * A read-write transaction always stays on the primary, so a read inside it sees the transaction's own writes.
+ * It has to sit behind a lazy connection proxy: the key is decided when the first statement needs a connection,
+ * after the transaction's read-only flag is known.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+    static final String PRIMARY_KEY = "primary";
+
+    private final List<HikariDataSource> pools;
+    private final List<String> replicaKeys;
+    private final Map<String, Counter> routed = new HashMap<>();
+    private final AtomicInteger next = new AtomicInteger();
+
+    // The primary pool is named PRIMARY_KEY and every pool is routed to under its own name
+    public ReplicaRoutingDataSource(HikariDataSource primary, List<HikariDataSource> replicas, MeterRegistry meterRegistry) {
+        this.pools = new ArrayList<>();
+        this.pools.add(primary);
+        this.pools.addAll(replicas);
+        this.replicaKeys = replicas.stream().map(HikariDataSource::getPoolName).toList();
+        Map<Object, Object> targets = new HashMap<>();
+        for (HikariDataSource pool : pools) {
+            targets.put(pool.getPoolName(), pool);
+            routed.put(pool.getPoolName(), Counter.builder("inventory.db.routed")
+                    .description("Connections handed out, by the pool they came from")
+                    .tag("pool", pool.getPoolName())
+                    .register(meterRegistry));
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    /** Connections across the primary and every replica, which is how many the database gate lets through. */
+    public int getTotalPoolSize() {
+        return pools.stream().mapToInt(HikariDataSource::getMaximumPoolSize).sum();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        boolean readWriteTransaction = TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+        String key = replicaKeys.isEmpty() || readWriteTransaction || !ReadRouting.useReplica()
+                ? PRIMARY_KEY
+                : replicaKeys.get(Math.floorMod(next.getAndIncrement(), replicaKeys.size()));
+        routed.get(key).increment();
+        return key;
+    }
+}
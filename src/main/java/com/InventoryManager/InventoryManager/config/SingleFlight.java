@@ -0,0 +1,15 @@
+package com.InventoryManager.InventoryManager.config;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a read whose concurrent calls with equal arguments may share one execution and its result. The arguments
+ * must implement {@code equals} and {@code hashCode}, and the result must not be modified by callers.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface SingleFlight {
+}
@@ -0,0 +1,61 @@
+package com.InventoryManager.InventoryManager.config;
+
+import com.InventoryManager.InventoryManager.service.CatalogVersions;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+
+/** Collapses concurrent identical {@link SingleFlight} reads into one. On unless {@code inventory.single-flight.enabled} is false. */
+@Configuration
+@ConditionalOnProperty(name = "inventory.single-flight.enabled", havingValue = "true", matchIfMissing = true)
+public class SingleFlightConfig {
+
+    @Bean
+    public SingleFlightGroup singleFlightGroup(MeterRegistry meterRegistry) {
+        return new SingleFlightGroup(meterRegistry);
+    }
+
+    @Bean
+    public SingleFlightAspect singleFlightAspect(SingleFlightGroup singleFlightGroup, CatalogVersions catalogVersions) {
+        return new SingleFlightAspect(singleFlightGroup, catalogVersions);
+    }
+
+    /**
+     * Runs outside the replica routing and the transaction, so waiting callers hold no connection. The key carries the
+     * catalog version: a caller never joins a read that started before a change it may already have been told about,
+     * e.g. through the entity tag, and a caller pinned to the primary never takes a result read from a replica.
+     */
+    @Aspect
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public static class SingleFlightAspect {
+        private record Key(Method method, List<Object> args, boolean primary, long catalogVersion) {
+        }
+
+        private final SingleFlightGroup group;
+        private final CatalogVersions catalogVersions;
+
+        public SingleFlightAspect(SingleFlightGroup group, CatalogVersions catalogVersions) {
+            this.group = group;
+            this.catalogVersions = catalogVersions;
+        }
+
+        @Around("@annotation(com.InventoryManager.InventoryManager.config.SingleFlight)")
+        public Object share(ProceedingJoinPoint joinPoint) throws Throwable {
+            Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+            Key key = new Key(method, Arrays.asList(joinPoint.getArgs()), ReadRouting.primaryForced(),
+                    catalogVersions.catalogVersion());
+            return group.execute(method.getName(), key, joinPoint::proceed);
+        }
+    }
+}
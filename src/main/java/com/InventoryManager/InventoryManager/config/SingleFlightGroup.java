@@ -0,0 +1,61 @@
+package com.InventoryManager.InventoryManager.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Calls in flight by key. The first caller of a key runs the call on its own thread; callers arriving before it
+ * finishes wait for its result, or its exception, instead of running it again. Nothing is kept once a call completes.
+ */
+public class SingleFlightGroup {
+
+    @FunctionalInterface
+    public interface Call<T> {
+        T run() throws Throwable;
+    }
+
+    private final Map<Object, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, Counter> deduplicated = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+
+    public SingleFlightGroup(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /** Result of {@code call}, shared with every concurrent caller of {@code key}. {@code name} tags the counter. */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String name, Object key, Call<T> call) throws Throwable {
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            counter(name).increment();
+            try {
+                return (T) existing.join();
+            } catch (CompletionException e) {
+                throw e.getCause();
+            }
+        }
+        try {
+            T result = call.run();
+            flight.complete(result);
+            return result;
+        } catch (Throwable e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    private Counter counter(String name) {
+        return deduplicated.computeIfAbsent(name, method -> Counter.builder("inventory.singleflight.deduplicated")
+                .description("Calls answered by an identical call already in flight")
+                .tag("method", method)
+                .register(meterRegistry));
+    }
+}
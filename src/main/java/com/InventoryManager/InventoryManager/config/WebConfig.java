@@ -1,8 +1,15 @@
 // src/main/java/com/InventoryManager/InventoryManager/config/WebConfig.java
 package com.InventoryManager.InventoryManager.config;
 
+import com.InventoryManager.InventoryManager.dto.ProductFields;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Configuration
@@ -17,4 +24,34 @@ public class WebConfig implements WebMvcConfigurer {
                 .allowCredentials(true) // Allow credentials (like cookies, authorization headers)
                 .maxAge(3600); // Max age of the CORS pre-flight request result
     }
-}
\ No newline at end of file
+
+    /** Every mapper writes all product properties unless a sparse read narrows them, see {@link ProductFields}. */
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer productFieldsFilter() {
+        return builder -> builder.filters(ProductFields.serializeAll());
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // Read-your-writes escape hatch: a client that just wrote can keep its next reads off the replicas
+        registry.addInterceptor(new AsyncHandlerInterceptor() {
+            @Override
+            public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                if (ReadRouting.PRIMARY.equalsIgnoreCase(request.getHeader(ReadRouting.CONSISTENCY_HEADER))) {
+                    ReadRouting.forcePrimary();
+                }
+                return true;
+            }
+
+            @Override
+            public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+                ReadRouting.clear();
+            }
+
+            @Override
+            public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                ReadRouting.clear();
+            }
+        }).addPathPatterns("/api/**");
+    }
+}
@@ -0,0 +1,63 @@
+package com.InventoryManager.InventoryManager.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * Binary encodings of the same payloads for backend callers, picked by {@code Accept} (and {@code Content-Type} for
+ * request bodies): CBOR as {@code application/cbor} and Smile as {@code application/x-jackson-smile}. Both mappers
+ * come from Boot's Jackson builder, so they carry exactly the fields and date formats of the JSON, which stays the
+ * default. Replace the converters Spring MVC registers for these formats with ones that time each response body.
+ */
+@Configuration
+public class WireFormatConfig {
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder, MeterRegistry registry) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build()) {
+            @Override
+            protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage) throws IOException {
+                Timer.Sample sample = Timer.start(registry);
+                try {
+                    super.writeInternal(object, type, outputMessage);
+                } finally {
+                    sample.stop(writeTimer(registry, "cbor", object));
+                }
+            }
+        };
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder, MeterRegistry registry) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build()) {
+            @Override
+            protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage) throws IOException {
+                Timer.Sample sample = Timer.start(registry);
+                try {
+                    super.writeInternal(object, type, outputMessage);
+                } finally {
+                    sample.stop(writeTimer(registry, "smile", object));
+                }
+            }
+        };
+    }
+
+    private static Timer writeTimer(MeterRegistry registry, String format, Object object) {
+        return Timer.builder("inventory.binary.write")
+                .description("Serializing and writing a binary response body")
+                .tag("format", format)
+                .tag("type", MetricsConfig.payloadType(object))
+                .register(registry);
+    }
+}
@@ -1,73 +1,195 @@
 package com.InventoryManager.InventoryManager.controller;
 
+import com.InventoryManager.InventoryManager.dto.BulkProductOperationDTO;
+import com.InventoryManager.InventoryManager.dto.BulkResultDTO;
 import com.InventoryManager.InventoryManager.dto.CategoryMetricsDTO;
+import com.InventoryManager.InventoryManager.dto.CategoryMetricsSummaryDTO;
+import com.InventoryManager.InventoryManager.dto.ProductChangesDTO;
+import com.InventoryManager.InventoryManager.dto.ProductFields;
+import com.InventoryManager.InventoryManager.dto.ProductFilterDTO;
+import com.InventoryManager.InventoryManager.dto.ProductPatchDTO;
 import com.InventoryManager.InventoryManager.dto.ProductRequestDTO;
 import com.InventoryManager.InventoryManager.dto.ProductResponseDTO;
+import com.InventoryManager.InventoryManager.dto.ProductSliceDTO;
 import com.InventoryManager.InventoryManager.model.ProductModel;
+import com.InventoryManager.InventoryManager.service.CatalogVersions;
+import com.InventoryManager.InventoryManager.service.ProductBulkService;
+import com.InventoryManager.InventoryManager.service.ProductChangeFeed;
+import com.InventoryManager.InventoryManager.service.ProductExportService;
+import com.InventoryManager.InventoryManager.service.ProductExportService.ExportFormat;
 import com.InventoryManager.InventoryManager.service.ProductService;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
 import org.apache.coyote.Response;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest; // Make sure this is imported
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/api/products")
 @CrossOrigin
 public class ProductController {
     private final ProductService productService;
+    private final ProductBulkService productBulkService;
+    private final ProductExportService productExportService;
+    private final ProductChangeFeed productChangeFeed;
+    private final CatalogVersions catalogVersions;
+    private final ObjectMapper objectMapper;
 
     @Autowired
-    public ProductController(ProductService productService) {
+    public ProductController(
+            ProductService productService,
+            ProductBulkService productBulkService,
+            ProductExportService productExportService,
+            ProductChangeFeed productChangeFeed,
+            CatalogVersions catalogVersions,
+            ObjectMapper objectMapper) {
         this.productService = productService;
+        this.productBulkService = productBulkService;
+        this.productExportService = productExportService;
+        this.productChangeFeed = productChangeFeed;
+        this.catalogVersions = catalogVersions;
+        this.objectMapper = objectMapper;
     }
 
     @GetMapping
-    public ResponseEntity<Page<ProductResponseDTO>> getProducts(
-            @RequestParam(required = false) String name,
-            @RequestParam(required = false) List<String> category,
-            @RequestParam(required = false) Boolean inStock,
-            @PageableDefault(page = 0, size = 10) Pageable pageable) {
-        Page<ProductResponseDTO> products = productService.getAllProducts(name, category, inStock, pageable);
-        return new ResponseEntity<>(products, HttpStatus.OK);
+    public ResponseEntity<MappingJacksonValue> getProducts(
+            ProductFilterDTO filter,
+            @PageableDefault(page = 0, size = 10) Pageable pageable,
+            @RequestParam(required = false) String fields,
+            WebRequest request) {
+        ProductFields selected = ProductFields.parse(fields);
+        return conditional(request, catalogVersions.catalogTag(),
+                () -> selected.serialize(productService.getAllProducts(filter, pageable, selected)));
+    }
+
+    @GetMapping(params = "cursor")
+    public ResponseEntity<ProductSliceDTO> getProductsByCursor(
+            ProductFilterDTO filter,
+            @RequestParam(required = false) String cursor,
+            @PageableDefault(size = 10) Pageable pageable,
+            WebRequest request) {
+        return conditional(request, catalogVersions.catalogTag(),
+                () -> productService.getProductsAfterCursor(filter, cursor, pageable));
+    }
+
+    @GetMapping("/export")
+    public void exportProducts(
+            ProductFilterDTO filter,
+            @RequestParam(defaultValue = "ndjson") String format,
+            HttpServletResponse response) throws IOException {
+        ExportFormat exportFormat = ExportFormat.from(format);
+        response.setContentType(exportFormat.getContentType());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"products." + exportFormat.getExtension() + "\"");
+        productExportService.export(filter, exportFormat, response.getOutputStream());
+    }
+
+    @GetMapping("/changes")
+    public ResponseEntity<ProductChangesDTO> pollChanges(
+            @RequestParam(required = false) Long since,
+            @RequestParam(defaultValue = "30") int timeout,
+            @RequestParam(defaultValue = "100") int limit) {
+        return new ResponseEntity<>(productChangeFeed.poll(since, timeout, limit), HttpStatus.OK);
+    }
+
+    @GetMapping(value = "/changes/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId,
+            @RequestParam(required = false) Long since) {
+        // A reconnecting EventSource sends the id of the last event it received
+        Long position = lastEventId != null ? lastEventId : since;
+        return productChangeFeed.subscribe(position != null ? position : productChangeFeed.latestSequence());
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<List<ProductResponseDTO>> searchProducts(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit,
+            WebRequest request) {
+        return conditional(request, catalogVersions.catalogTag(), () -> productService.searchProductsByName(q, limit));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<ProductResponseDTO> getProductById(@PathVariable Long id) {
-        var product = productService.getProductById(id);
-        return new ResponseEntity<>(product, HttpStatus.OK);
+    public ResponseEntity<MappingJacksonValue> getProductById(
+            @PathVariable Long id,
+            @RequestParam(required = false) String fields,
+            WebRequest request) {
+        // The tag is known before the product is read, so a 304 costs no query and no serialization
+        ProductFields selected = ProductFields.parse(fields);
+        if (request.checkNotModified(catalogVersions.productTag(catalogVersions.productVersion(id), selected))) {
+            return null;
+        }
+        ProductResponseDTO product = selected.isAll()
+                ? productService.getProductById(id)
+                : productService.getProductFieldsById(id, selected);
+        if (!catalogVersions.isCurrent(id, product)) {
+            // A cached product that lags the version in the tag would otherwise be served under it until it changes again
+            product = productService.reloadProductById(id);
+        }
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).varyBy(HttpHeaders.ACCEPT)
+                .body(selected.serialize(product));
     };
 
     @GetMapping("/categoryTotalStock/{category}")
-    public ResponseEntity<Integer> getTotalProductStockInCategory(@PathVariable String category) {
-        return new ResponseEntity<Integer>(productService.getTotalProductsInStockInCategory(category), HttpStatus.OK);
+    public ResponseEntity<Integer> getTotalProductStockInCategory(@PathVariable String category, WebRequest request) {
+        return conditional(request, catalogVersions.catalogTag(),
+                () -> productService.getTotalProductsInStockInCategory(category));
     }
 
     @GetMapping("/categoryTotalValue/{category}")
-    public ResponseEntity<Float> getTotalValueInCategory(@PathVariable String category) {
-        return new ResponseEntity<Float>(productService.getTotalValueInCategory(category), HttpStatus.OK);
+    public ResponseEntity<BigDecimal> getTotalValueInCategory(@PathVariable String category, WebRequest request) {
+        return conditional(request, catalogVersions.catalogTag(), () -> productService.getTotalValueInCategory(category));
     }
 
     @GetMapping("/categoryAverageValue/{category}")
-    public ResponseEntity<Float> getAverageValueInCategory(@PathVariable String category) {
-        return new ResponseEntity<Float>(productService.getAverageValueInCategory(category), HttpStatus.OK);
+    public ResponseEntity<BigDecimal> getAverageValueInCategory(@PathVariable String category, WebRequest request) {
+        return conditional(request, catalogVersions.catalogTag(), () -> productService.getAverageValueInCategory(category));
     }
 
     @GetMapping("/averageValue")
-    public ResponseEntity<Float> getAverageValue() {
-        return new ResponseEntity<Float>(productService.getAverageValue(), HttpStatus.OK);
+    public ResponseEntity<BigDecimal> getAverageValue(WebRequest request) {
+        return conditional(request, catalogVersions.catalogTag(), productService::getAverageValue);
+    }
+
+    @GetMapping("/categoryMetrics")
+    public ResponseEntity<CategoryMetricsSummaryDTO> getAllCategoryMetrics(
+            @RequestParam(required = false) List<String> category,
+            WebRequest request) {
+        return conditional(request, catalogVersions.catalogTag(), () -> productService.getAllCategoryMetrics(category));
     }
 
     @GetMapping("/categoryMetrics/{category}")
-    public ResponseEntity<CategoryMetricsDTO> getCategoryMetrics(@PathVariable String category) {
-        return new ResponseEntity<CategoryMetricsDTO>(productService.getCategoryMetrics(category), HttpStatus.OK);
+    public ResponseEntity<CategoryMetricsDTO> getCategoryMetrics(@PathVariable String category, WebRequest request) {
+        return conditional(request, catalogVersions.catalogTag(), () -> productService.getCategoryMetrics(category));
+    }
+
+    // The tag is taken before the body is read, so a write racing the read can only leave the tag older than the body.
+    // It names the catalog version, not the encoding, so caches have to key on Accept as well
+    private <T> ResponseEntity<T> conditional(WebRequest request, String etag, Supplier<T> body) {
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).varyBy(HttpHeaders.ACCEPT).body(body.get());
     }
 
     @PostMapping
@@ -76,6 +198,15 @@ public class ProductController {
         return new ResponseEntity<>(createdProduct, HttpStatus.CREATED);
     }
 
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<BulkResultDTO> bulkApply(InputStream body) throws IOException {
+        // Reads a JSON array or NDJSON lines one operation at a time instead of binding the whole payload
+        try (MappingIterator<BulkProductOperationDTO> operations =
+                     objectMapper.readerFor(BulkProductOperationDTO.class).readValues(body)) {
+            return new ResponseEntity<>(productBulkService.apply(operations), HttpStatus.OK);
+        }
+    }
+
     @PostMapping("/{id}/outofstock")
     public ResponseEntity<ProductResponseDTO> markProductOutOfStock(@PathVariable Long id) {
         ProductResponseDTO product = productService.markOutOfStock(id);
@@ -88,12 +219,24 @@ public class ProductController {
         return new ResponseEntity<>(updatedProduct, HttpStatus.OK);
     }
 
+    @PatchMapping("/{id}")
+    public ResponseEntity<ProductResponseDTO> patchProduct(@PathVariable Long id, @RequestBody ProductPatchDTO productPatchDTO) {
+        ProductResponseDTO patchedProduct = productService.patchProduct(id, productPatchDTO);
+        return new ResponseEntity<>(patchedProduct, HttpStatus.OK);
+    }
+
     @PutMapping("/{id}/instock")
     public ResponseEntity<ProductResponseDTO> markProductInStock(@PathVariable Long id, @RequestParam int quantity) {
         ProductResponseDTO product = productService.markInStock(id, quantity);
         return new ResponseEntity<>(product, HttpStatus.OK);
     }
 
+    @PostMapping("/{id}/stock")
+    public ResponseEntity<ProductResponseDTO> adjustProductStock(@PathVariable Long id, @RequestParam int delta) {
+        ProductResponseDTO product = productService.adjustStock(id, delta);
+        return new ResponseEntity<>(product, HttpStatus.OK);
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteProduct(@PathVariable Long id) {
         productService.deleteProduct(id);
@@ -0,0 +1,16 @@
+package com.InventoryManager.InventoryManager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkItemResultDTO {
+    private int index;
+    private BulkProductOperationDTO.Action action;
+    private Long id;
+    private int status;
+    private String message;
+}
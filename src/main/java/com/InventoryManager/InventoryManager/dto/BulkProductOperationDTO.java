@@ -0,0 +1,16 @@
+package com.InventoryManager.InventoryManager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkProductOperationDTO {
+    public enum Action { CREATE, UPDATE, DELETE }
+
+    private Action action;
+    private Long id;
+    private ProductRequestDTO product;
+}
@@ -0,0 +1,20 @@
+package com.InventoryManager.InventoryManager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import java.math.BigDecimal;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class CategoryAggregateDTO {
+    private String category;
+    private Long productCount;
+    private Long totalStock;
+    private BigDecimal unitPriceSum;
+    private BigDecimal totalValue;
+    private Long outOfStockCount;
+}
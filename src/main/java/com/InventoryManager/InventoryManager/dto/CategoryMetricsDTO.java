@@ -5,6 +5,7 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import java.math.BigDecimal;
 
 @Getter
 @Setter
@@ -12,6 +13,10 @@ import lombok.Setter;
 @NoArgsConstructor
 public class CategoryMetricsDTO {
     private Integer totalStock;
-    private Float totalUnitPriceSum;
-    private Float averageUnitPrice;
+    private BigDecimal totalUnitPriceSum;
+    private BigDecimal averageUnitPrice;
+    private Long productCount;
+    private Long outOfStockCount;
+    // Stock valued at unit price, SUM(unitPrice * stockQuantity)
+    private BigDecimal totalValue;
 }
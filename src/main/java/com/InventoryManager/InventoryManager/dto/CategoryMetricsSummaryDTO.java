@@ -0,0 +1,18 @@
+package com.InventoryManager.InventoryManager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import java.util.Map;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class CategoryMetricsSummaryDTO {
+    // Keyed by category name, in name order
+    private Map<String, CategoryMetricsDTO> categories;
+    // Totals over the whole catalog, whichever categories were asked for
+    private CategoryMetricsDTO overall;
+}
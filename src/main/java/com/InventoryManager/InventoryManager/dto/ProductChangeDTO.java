@@ -0,0 +1,25 @@
+package com.InventoryManager.InventoryManager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.Instant;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductChangeDTO {
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED,
+        STOCK
+    }
+
+    private long sequence;
+    private Type type;
+    private Long productId;
+    // State after the change; absent for deletes and for stock zeroed by the expiration sweeper
+    private ProductResponseDTO product;
+    private Instant timestamp;
+}
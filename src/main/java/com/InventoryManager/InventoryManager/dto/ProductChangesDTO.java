@@ -0,0 +1,17 @@
+package com.InventoryManager.InventoryManager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductChangesDTO {
+    private List<ProductChangeDTO> changes;
+    // Pass back as "since" to continue after the last change returned
+    private long lastSequence;
+    // Changes after "since" are no longer retained (or the feed restarted): reload the catalog before applying these
+    private boolean reset;
+}
@@ -0,0 +1,115 @@
+package com.InventoryManager.InventoryManager.dto;
+
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.converter.json.MappingJacksonValue;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The {@code fields=} of a sparse product read: the {@link ProductResponseDTO} properties that are serialized, and
+ * so the columns the query has to select. {@code inStock} is derived from the stock quantity, which is then selected
+ * without being serialized.
+ */
+public record ProductFields(Set<String> names) {
+    /** Id of the Jackson property filter on {@link ProductResponseDTO}. */
+    public static final String FILTER = "productFields";
+    public static final String IN_STOCK = "inStock";
+    public static final String STOCK_QUANTITY = "stockQuantity";
+    /** Every property of {@link ProductResponseDTO}, in declaration order. */
+    public static final List<String> ALL_NAMES = Arrays.stream(ProductResponseDTO.class.getDeclaredFields())
+            .filter(field -> !Modifier.isStatic(field.getModifiers()))
+            .map(Field::getName)
+            .toList();
+    public static final ProductFields ALL = new ProductFields(Set.copyOf(ALL_NAMES));
+
+    public ProductFields {
+        names = Set.copyOf(names);
+    }
+
+    /** {@link #ALL} when {@code fields} is absent or blank, otherwise its comma-separated names. */
+    public static ProductFields parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return ALL;
+        }
+        Set<String> names = new LinkedHashSet<>();
+        for (String name : fields.split(",")) {
+            String trimmed = name.trim();
+            if (!ALL_NAMES.contains(trimmed)) {
+                throw new ProductException("Unknown field '" + trimmed + "', fields can be " + String.join(", ", ALL_NAMES),
+                        HttpStatus.BAD_REQUEST);
+            }
+            names.add(trimmed);
+        }
+        return new ProductFields(names);
+    }
+
+    public boolean isAll() {
+        return names.size() == ALL_NAMES.size();
+    }
+
+    public boolean contains(String name) {
+        return names.contains(name);
+    }
+
+    /** Stored columns backing the requested properties, in declaration order. */
+    public List<String> columns() {
+        List<String> columns = new ArrayList<>();
+        for (String name : ALL_NAMES) {
+            if (!name.equals(IN_STOCK) && (names.contains(name) || name.equals(STOCK_QUANTITY) && names.contains(IN_STOCK))) {
+                columns.add(name);
+            }
+        }
+        return columns;
+    }
+
+    /** One bit per requested property, in declaration order, so equal selections give equal masks. */
+    public long mask() {
+        long mask = 0;
+        for (int i = 0; i < ALL_NAMES.size(); i++) {
+            if (names.contains(ALL_NAMES.get(i))) {
+                mask |= 1L << i;
+            }
+        }
+        return mask;
+    }
+
+    /** {@code body} for the message converters, serializing the requested product properties only. */
+    public MappingJacksonValue serialize(Object body) {
+        MappingJacksonValue value = new MappingJacksonValue(body);
+        value.setFilters(isAll() ? serializeAll()
+                : new SimpleFilterProvider().addFilter(FILTER, SimpleBeanPropertyFilter.filterOutAllExcept(names)));
+        return value;
+    }
+
+    /** The mappers' default: every product property is written unless a sparse read narrows it. */
+    public static FilterProvider serializeAll() {
+        return new SimpleFilterProvider().addFilter(FILTER, SimpleBeanPropertyFilter.serializeAll());
+    }
+
+    /** Sets a stored column's value on {@code product}; {@code inStock} is derived, not stored. */
+    public static void set(ProductResponseDTO product, String column, Object value) {
+        switch (column) {
+            case "id" -> product.setId((Long) value);
+            case "name" -> product.setName((String) value);
+            case "category" -> product.setCategory((String) value);
+            case "unitPrice" -> product.setUnitPrice((BigDecimal) value);
+            case "expirationDate" -> product.setExpirationDate((LocalDate) value);
+            case STOCK_QUANTITY -> product.setStockQuantity((Integer) value);
+            case "creationDate" -> product.setCreationDate((LocalDate) value);
+            case "updateDate" -> product.setUpdateDate((LocalDate) value);
+            case "version" -> product.setVersion((Long) value);
+            default -> throw new IllegalArgumentException("Not a stored column: " + column);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.InventoryManager.InventoryManager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import java.time.LocalDate;
+import java.util.List;
+
+/** Listing filters, bound from the query string of the list, cursor and export endpoints. Absent fields do not filter. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductFilterDTO {
+    private String name;
+    private List<String> category;
+    private Boolean inStock;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate expiringFrom;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate expiringTo;
+    private Boolean expired;
+
+    public ProductFilterDTO(String name, List<String> category, Boolean inStock) {
+        this(name, category, inStock, null, null, null);
+    }
+}
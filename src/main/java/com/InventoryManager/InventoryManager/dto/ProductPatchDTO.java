@@ -0,0 +1,64 @@
+package com.InventoryManager.InventoryManager.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Partial update of a product. Only the fields the body carries are changed, and {@code "expirationDate": null}
+ * clears the expiration date; {@code version} is the one the client last read.
+ */
+@Data
+@NoArgsConstructor
+public class ProductPatchDTO {
+    private String name;
+    private String category;
+    private BigDecimal unitPrice;
+    private LocalDate expirationDate;
+    private Integer stockQuantity;
+    private Long version;
+
+    // Fields the body carries, explicit nulls included; Jackson calls no setter for an absent field
+    @JsonIgnore
+    @Getter(AccessLevel.NONE)
+    private final Set<String> present = new HashSet<>();
+
+    public void setName(String name) {
+        this.name = name;
+        present.add("name");
+    }
+
+    public void setCategory(String category) {
+        this.category = category;
+        present.add("category");
+    }
+
+    public void setUnitPrice(BigDecimal unitPrice) {
+        this.unitPrice = unitPrice;
+        present.add("unitPrice");
+    }
+
+    public void setExpirationDate(LocalDate expirationDate) {
+        this.expirationDate = expirationDate;
+        present.add("expirationDate");
+    }
+
+    public void setStockQuantity(Integer stockQuantity) {
+        this.stockQuantity = stockQuantity;
+        present.add("stockQuantity");
+    }
+
+    public boolean has(String field) {
+        return present.contains(field);
+    }
+
+    public boolean isEmpty() {
+        return present.isEmpty();
+    }
+}
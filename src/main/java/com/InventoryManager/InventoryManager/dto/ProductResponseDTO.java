@@ -1,5 +1,6 @@
 package com.InventoryManager.InventoryManager.dto;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -9,6 +10,7 @@ import java.time.LocalDate;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
+@JsonFilter(ProductFields.FILTER) // Narrowed by fields= on sparse reads, see ProductFields
 public class ProductResponseDTO {
     private Long id;
     private String name;
@@ -19,5 +21,18 @@ public class ProductResponseDTO {
     private LocalDate creationDate;
     private LocalDate updateDate;
     private boolean inStock;
+    private Long version;
+
+    // Target of the projection queries, which select the stored columns only
+    public ProductResponseDTO(Long id, String name, String category, BigDecimal unitPrice, LocalDate expirationDate,
+                              Integer stockQuantity, LocalDate creationDate, LocalDate updateDate, Long version) {
+        this(id, name, category, unitPrice, expirationDate, stockQuantity, creationDate, updateDate, stockQuantity > 0,
+                version);
+    }
+
+    public ProductResponseDTO copy() {
+        return new ProductResponseDTO(id, name, category, unitPrice, expirationDate, stockQuantity, creationDate, updateDate,
+                inStock, version);
+    }
 }
 
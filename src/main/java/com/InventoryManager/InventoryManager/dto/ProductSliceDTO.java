@@ -0,0 +1,16 @@
+package com.InventoryManager.InventoryManager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductSliceDTO {
+    private List<ProductResponseDTO> content;
+    private int size;
+    private boolean hasNext;
+    private String nextCursor;
+}
@@ -0,0 +1,39 @@
+package com.InventoryManager.InventoryManager.model;
+
+import com.InventoryManager.InventoryManager.service.CategoryDictionary;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+
+/**
+ * Maps category names to their dictionary keys and back, both for stored products and for query parameters. An
+ * unknown name in a filter converts to {@code null}, which matches no row, so a read never creates a category.
+ * Registered as an entity listener as well, to make sure a written product's category exists before it is flushed.
+ */
+@Converter
+public class CategoryConverter implements AttributeConverter<String, Integer> {
+    private final CategoryDictionary categoryDictionary;
+
+    public CategoryConverter(CategoryDictionary categoryDictionary) {
+        this.categoryDictionary = categoryDictionary;
+    }
+
+    @Override
+    public Integer convertToDatabaseColumn(String category) {
+        return category == null ? null : categoryDictionary.find(category).orElse(null);
+    }
+
+    @Override
+    public String convertToEntityAttribute(Integer id) {
+        return id == null ? null : categoryDictionary.nameOf(id);
+    }
+
+    @PrePersist
+    @PreUpdate
+    void resolveCategory(ProductModel product) {
+        if (product.getCategory() != null) {
+            categoryDictionary.resolve(product.getCategory());
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.InventoryManager.InventoryManager.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.Immutable;
+
+/** A category name and its key. Rows are only ever added, through the category dictionary. */
+@Entity
+@Table(name = "category")
+@Immutable
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategoryModel {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    private String name;
+}
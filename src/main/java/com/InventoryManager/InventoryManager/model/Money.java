@@ -0,0 +1,39 @@
+package com.InventoryManager.InventoryManager.model;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Money as exact long cents. Unit prices are stored with two decimals, so every price and every sum of them is a
+ * whole number of cents; running totals add and multiply plain longs and only become BigDecimal when they are read.
+ * Arithmetic overflows throw instead of wrapping.
+ */
+public final class Money {
+    public static final int SCALE = 2;
+
+    private Money() {
+    }
+
+    /** Cents in {@code amount}; throws when it has a fraction of a cent. {@code null} counts as zero. */
+    public static long toCents(BigDecimal amount) {
+        return amount == null ? 0 : amount.movePointRight(SCALE).longValueExact();
+    }
+
+    /** Whether {@code amount} is a whole number of cents, i.e. has at most two decimal places besides trailing zeros. */
+    public static boolean isWholeCents(BigDecimal amount) {
+        return amount.stripTrailingZeros().scale() <= SCALE;
+    }
+
+    public static BigDecimal fromCents(long cents) {
+        return BigDecimal.valueOf(cents, SCALE);
+    }
+
+    public static long times(long cents, long quantity) {
+        return Math.multiplyExact(cents, quantity);
+    }
+
+    /** {@code cents / count} as an amount, rounded half up to the cent like stored prices. */
+    public static BigDecimal average(long cents, long count) {
+        return fromCents(cents).divide(BigDecimal.valueOf(count), SCALE, RoundingMode.HALF_UP);
+    }
+}
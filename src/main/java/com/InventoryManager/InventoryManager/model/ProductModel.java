@@ -3,33 +3,46 @@ package com.InventoryManager.InventoryManager.model;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
+@EntityListeners(CategoryConverter.class)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 public class ProductModel {
+    public static final int ID_ALLOCATION_SIZE = 50;
 
+    // Pooled sequence ids (one round trip per 50 inserts) let Hibernate batch inserts; IDENTITY disables batching
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "product_seq")
+    @SequenceGenerator(name = "product_seq", sequenceName = "product_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @NotBlank(message = "Name is required")
     @Size(max = 120, message = "Name cannot exceed 120 characters")
     private String name;
 
+    // Stored as the key of the category dictionary; queries compare integers while the entity keeps the name
     @NotBlank(message = "Category is required")
+    @Convert(converter = CategoryConverter.class)
+    @Column(name = "category_id")
     private String category;
 
     @NotNull(message = "Unit price is required")
     @DecimalMin(value = "0.01", message = "Unit price must be greater than 0")
+    @Digits(integer = 36, fraction = 2, message = "Unit price cannot have more than 2 decimal places")
     private BigDecimal unitPrice;
 
     private LocalDate expirationDate;
@@ -44,6 +57,21 @@ public class ProductModel {
     @UpdateTimestamp
     private LocalDate updateDate;
 
+    // Bumped by every write, including the plain JDBC ones, so a stale versioned write is refused
+    @Version
+    private Long version;
+
+    // Read-only view of the same column, for ordering by category name
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "category_id", insertable = false, updatable = false)
+    private CategoryModel categoryEntry;
+
+    // Keep the in-memory value at the column's scale so cached entities match what the database stores. A price with
+    // more decimal places is left as it is, for validation to reject rather than round
+    public void setUnitPrice(BigDecimal unitPrice) {
+        this.unitPrice = unitPrice == null || !Money.isWholeCents(unitPrice) ? unitPrice : unitPrice.setScale(Money.SCALE, RoundingMode.UNNECESSARY);
+    }
+
     public boolean isInStock() {
         return stockQuantity > 0;
     }
@@ -0,0 +1,121 @@
+package com.InventoryManager.InventoryManager.repository;
+
+import com.InventoryManager.InventoryManager.model.ProductModel;
+import org.postgresql.PGConnection;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.Date;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+/**
+ * Writes pre-built rows straight through JDBC, bypassing the persistence context, for seeding large catalogs.
+ * Ids come from the same pooled sequence Hibernate uses, so entities saved afterwards never collide with loaded rows.
+ */
+@Repository
+public class ProductBulkLoader {
+    private static final String INSERT_SQL = "INSERT INTO product_model "
+            + "(id, name, category_id, unit_price, expiration_date, stock_quantity, creation_date, update_date) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String COPY_SQL = "COPY product_model "
+            + "(id, name, category_id, unit_price, expiration_date, stock_quantity, creation_date, update_date) "
+            + "FROM STDIN WITH (FORMAT csv)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private volatile String databaseProductName;
+
+    public ProductBulkLoader(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Reserves {@code blocks} blocks of {@link ProductModel#ID_ALLOCATION_SIZE} ids in one round trip and returns the
+     * highest id of each block in ascending order, the same way Hibernate's pooled optimizer reads a sequence value.
+     */
+    public long[] reserveIdBlocks(int blocks) {
+        // A fresh sequence first returns its start value, which does not mark the top of a full block
+        List<Long> values = jdbcTemplate.queryForList(nextValuesSql(), Long.class, blocks + 1);
+        return values.stream()
+                .mapToLong(Long::longValue)
+                .filter(value -> value >= ProductModel.ID_ALLOCATION_SIZE)
+                .sorted()
+                .limit(blocks)
+                .toArray();
+    }
+
+    /**
+     * Inserts rows whose ids are already assigned: COPY on PostgreSQL, batched inserts elsewhere. Categories are
+     * written as the keys {@code categoryIds} gives for their names.
+     */
+    public void insert(List<ProductModel> products, ToIntFunction<String> categoryIds) {
+        if (isPostgreSql()) {
+            copy(products, categoryIds);
+        } else {
+            jdbcTemplate.batchUpdate(INSERT_SQL, products, products.size(), (statement, product) -> {
+                statement.setLong(1, product.getId());
+                statement.setString(2, product.getName());
+                statement.setInt(3, categoryIds.applyAsInt(product.getCategory()));
+                statement.setBigDecimal(4, product.getUnitPrice());
+                if (product.getExpirationDate() == null) {
+                    statement.setNull(5, Types.DATE);
+                } else {
+                    statement.setDate(5, Date.valueOf(product.getExpirationDate()));
+                }
+                statement.setInt(6, product.getStockQuantity());
+                statement.setDate(7, Date.valueOf(product.getCreationDate()));
+                statement.setDate(8, Date.valueOf(product.getUpdateDate()));
+            });
+        }
+    }
+
+    private void copy(List<ProductModel> products, ToIntFunction<String> categoryIds) {
+        StringBuilder csv = new StringBuilder(products.size() * 96);
+        for (ProductModel product : products) {
+            csv.append(product.getId()).append(',')
+                    .append(quote(product.getName())).append(',')
+                    .append(categoryIds.applyAsInt(product.getCategory())).append(',')
+                    .append(product.getUnitPrice().toPlainString()).append(',')
+                    .append(date(product.getExpirationDate())).append(',')
+                    .append(product.getStockQuantity()).append(',')
+                    .append(date(product.getCreationDate())).append(',')
+                    .append(date(product.getUpdateDate())).append('\n');
+        }
+        jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            try {
+                return connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_SQL, new StringReader(csv.toString()));
+            } catch (IOException e) {
+                throw new DataAccessResourceFailureException("Could not stream rows to COPY", e);
+            }
+        });
+    }
+
+    // In CSV format an unquoted empty field is NULL
+    private static String date(LocalDate date) {
+        return date == null ? "" : date.toString();
+    }
+
+    private static String quote(String value) {
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private String nextValuesSql() {
+        return isPostgreSql()
+                ? "SELECT nextval('product_seq') FROM generate_series(1, ?)"
+                : "SELECT NEXT VALUE FOR product_seq FROM SYSTEM_RANGE(1, ?)";
+    }
+
+    private boolean isPostgreSql() {
+        if (databaseProductName == null) {
+            databaseProductName = jdbcTemplate.execute(
+                    (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        }
+        return "PostgreSQL".equals(databaseProductName);
+    }
+}
@@ -0,0 +1,19 @@
+package com.InventoryManager.InventoryManager.repository;
+
+import com.InventoryManager.InventoryManager.dto.ProductPatchDTO;
+import com.InventoryManager.InventoryManager.model.ProductModel;
+
+import java.util.Optional;
+
+public interface ProductPatchRepository {
+    /** A product before and after a partial update. */
+    record PatchedProduct(ProductModel before, ProductModel after) {
+    }
+
+    /**
+     * Writes the fields {@code patch} carries in one {@code UPDATE ... WHERE id = ? AND version = ?}, bumping the
+     * version, which also returns the row it replaced. Returns empty when the product does not exist and throws
+     * {@link org.springframework.dao.OptimisticLockingFailureException} when it is no longer at {@code patch.getVersion()}.
+     */
+    Optional<PatchedProduct> patch(Long id, ProductPatchDTO patch);
+}
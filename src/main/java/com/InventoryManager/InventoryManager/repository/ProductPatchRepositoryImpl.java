@@ -0,0 +1,138 @@
+package com.InventoryManager.InventoryManager.repository;
+
+import com.InventoryManager.InventoryManager.dto.ProductPatchDTO;
+import com.InventoryManager.InventoryManager.model.ProductModel;
+import com.InventoryManager.InventoryManager.service.CategoryDictionary;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.SqlParameterValue;
+
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+class ProductPatchRepositoryImpl implements ProductPatchRepository {
+    private static final List<String> COLUMNS = List.of("id", "name", "category_id", "unit_price", "expiration_date",
+            "stock_quantity", "creation_date", "update_date", "version");
+    private static final String SELECT_VERSION_SQL = "SELECT version FROM product_model WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+    private final CategoryDictionary categoryDictionary;
+    private volatile String databaseProductName;
+
+    ProductPatchRepositoryImpl(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory,
+                               CategoryDictionary categoryDictionary) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManagerFactory = entityManagerFactory;
+        this.categoryDictionary = categoryDictionary;
+    }
+
+    @Override
+    public Optional<PatchedProduct> patch(Long id, ProductPatchDTO patch) {
+        // Plain JDBC, like the stock adjustment: only the patched columns are written and no entity is merged.
+        // The category key is resolved first, so the statement runs on its own without a surrounding transaction
+        List<String> assignments = new ArrayList<>();
+        List<Object> args = new ArrayList<>();
+        if (patch.has("name")) {
+            assignments.add("name = ?");
+            args.add(patch.getName());
+        }
+        if (patch.has("category")) {
+            assignments.add("category_id = ?");
+            args.add(categoryDictionary.resolve(patch.getCategory()));
+        }
+        if (patch.has("unitPrice")) {
+            assignments.add("unit_price = ?");
+            args.add(patch.getUnitPrice());
+        }
+        if (patch.has("expirationDate")) {
+            assignments.add("expiration_date = ?");
+            args.add(new SqlParameterValue(Types.DATE,
+                    patch.getExpirationDate() == null ? null : Date.valueOf(patch.getExpirationDate())));
+        }
+        if (patch.has("stockQuantity")) {
+            assignments.add("stock_quantity = ?");
+            args.add(patch.getStockQuantity());
+        }
+        LocalDate today = LocalDate.now();
+        assignments.add("update_date = ?");
+        args.add(Date.valueOf(today));
+        args.add(id);
+        args.add(patch.getVersion());
+
+        // The statement returns the row as it was, which callers move out of their aggregates
+        List<ProductModel> previous = jdbcTemplate.query(updateSql(String.join(", ", assignments)), this::toProduct,
+                args.toArray());
+        if (previous.isEmpty()) {
+            // Only a refused patch pays for telling a missing product from a stale version
+            List<Long> version = jdbcTemplate.queryForList(SELECT_VERSION_SQL, Long.class, id);
+            if (version.isEmpty()) {
+                return Optional.empty();
+            }
+            throw new OptimisticLockingFailureException("Product " + id + " is at version " + version.get(0)
+                    + ", not " + patch.getVersion());
+        }
+        entityManagerFactory.getCache().evict(ProductModel.class, id);
+        ProductModel before = previous.get(0);
+        return Optional.of(new PatchedProduct(before, apply(before, patch, today)));
+    }
+
+    // One round trip either way. PostgreSQL has no OLD values in RETURNING, so the previous row comes from a self-join
+    // that locks it; H2 reads it from the OLD TABLE of the update
+    private String updateSql(String assignments) {
+        if (isPostgreSql()) {
+            return "UPDATE product_model p SET " + assignments + ", version = p.version + 1 FROM ("
+                    + "SELECT " + String.join(", ", COLUMNS) + " FROM product_model WHERE id = ? AND version = ? FOR UPDATE"
+                    + ") old WHERE p.id = old.id RETURNING "
+                    + COLUMNS.stream().map(column -> "old." + column).collect(Collectors.joining(", "));
+        }
+        return "SELECT " + String.join(", ", COLUMNS) + " FROM OLD TABLE (UPDATE product_model SET " + assignments
+                + ", version = version + 1 WHERE id = ? AND version = ?)";
+    }
+
+    private ProductModel toProduct(ResultSet rs, int rowNum) throws SQLException {
+        ProductModel product = new ProductModel();
+        product.setId(rs.getLong("id"));
+        product.setName(rs.getString("name"));
+        product.setCategory(categoryDictionary.nameOf(rs.getInt("category_id")));
+        product.setUnitPrice(rs.getBigDecimal("unit_price"));
+        Date expirationDate = rs.getDate("expiration_date");
+        product.setExpirationDate(expirationDate == null ? null : expirationDate.toLocalDate());
+        product.setStockQuantity(rs.getInt("stock_quantity"));
+        product.setCreationDate(rs.getDate("creation_date").toLocalDate());
+        product.setUpdateDate(rs.getDate("update_date").toLocalDate());
+        product.setVersion(rs.getLong("version"));
+        return product;
+    }
+
+    private static ProductModel apply(ProductModel before, ProductPatchDTO patch, LocalDate today) {
+        ProductModel after = new ProductModel();
+        after.setId(before.getId());
+        after.setName(patch.has("name") ? patch.getName() : before.getName());
+        after.setCategory(patch.has("category") ? patch.getCategory() : before.getCategory());
+        after.setUnitPrice(patch.has("unitPrice") ? patch.getUnitPrice() : before.getUnitPrice());
+        after.setExpirationDate(patch.has("expirationDate") ? patch.getExpirationDate() : before.getExpirationDate());
+        after.setStockQuantity(patch.has("stockQuantity") ? patch.getStockQuantity() : before.getStockQuantity());
+        after.setCreationDate(before.getCreationDate());
+        after.setUpdateDate(today);
+        after.setVersion(before.getVersion() + 1);
+        return after;
+    }
+
+    private boolean isPostgreSql() {
+        if (databaseProductName == null) {
+            databaseProductName = jdbcTemplate.execute(
+                    (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        }
+        return "PostgreSQL".equals(databaseProductName);
+    }
+}
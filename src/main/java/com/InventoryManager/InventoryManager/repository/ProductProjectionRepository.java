@@ -0,0 +1,30 @@
+package com.InventoryManager.InventoryManager.repository;
+
+import com.InventoryManager.InventoryManager.dto.ProductFields;
+import com.InventoryManager.InventoryManager.dto.ProductResponseDTO;
+import com.InventoryManager.InventoryManager.model.ProductModel;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Read paths that build {@link ProductResponseDTO} rows in the query itself. No entity is instantiated, registered
+ * in the persistence context or snapshotted for dirty checking, and nothing is copied afterwards.
+ */
+public interface ProductProjectionRepository {
+    /** A page of products matching {@code spec}, counted only when the page alone cannot tell the total. */
+    Page<ProductResponseDTO> findResponses(Specification<ProductModel> spec, Pageable pageable);
+
+    /** Like {@link #findResponses(Specification, Pageable)}, selecting only the columns behind {@code fields}. */
+    Page<ProductResponseDTO> findResponses(Specification<ProductModel> spec, Pageable pageable, ProductFields fields);
+
+    /** One product with only the columns behind {@code fields} selected; other properties are left unset. */
+    Optional<ProductResponseDTO> findResponseById(Long id, ProductFields fields);
+
+    /** At most {@code limit} products matching {@code spec} in {@code sort} order, without counting. */
+    List<ProductResponseDTO> findResponses(Specification<ProductModel> spec, Sort sort, int limit);
+}
@@ -0,0 +1,125 @@
+package com.InventoryManager.InventoryManager.repository;
+
+import com.InventoryManager.InventoryManager.dto.ProductFields;
+import com.InventoryManager.InventoryManager.dto.ProductResponseDTO;
+import com.InventoryManager.InventoryManager.model.ProductModel;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+
+@Transactional(readOnly = true)
+class ProductProjectionRepositoryImpl implements ProductProjectionRepository {
+    private final EntityManager entityManager;
+
+    ProductProjectionRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public Page<ProductResponseDTO> findResponses(Specification<ProductModel> spec, Pageable pageable) {
+        TypedQuery<ProductResponseDTO> query = select(spec, pageable.getSort());
+        if (pageable.isPaged()) {
+            query.setFirstResult(Math.toIntExact(pageable.getOffset()));
+            query.setMaxResults(pageable.getPageSize());
+        }
+        return PageableExecutionUtils.getPage(query.getResultList(), pageable, () -> count(spec));
+    }
+
+    @Override
+    public Page<ProductResponseDTO> findResponses(Specification<ProductModel> spec, Pageable pageable, ProductFields fields) {
+        TypedQuery<Tuple> query = selectColumns(spec, pageable.getSort(), fields);
+        if (pageable.isPaged()) {
+            query.setFirstResult(Math.toIntExact(pageable.getOffset()));
+            query.setMaxResults(pageable.getPageSize());
+        }
+        List<ProductResponseDTO> content = query.getResultList().stream().map(row -> toResponse(row, fields)).toList();
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(spec));
+    }
+
+    @Override
+    public Optional<ProductResponseDTO> findResponseById(Long id, ProductFields fields) {
+        Specification<ProductModel> byId = (root, query, cb) -> cb.equal(root.get("id"), id);
+        return selectColumns(byId, Sort.unsorted(), fields).getResultStream().findFirst().map(row -> toResponse(row, fields));
+    }
+
+    @Override
+    public List<ProductResponseDTO> findResponses(Specification<ProductModel> spec, Sort sort, int limit) {
+        return select(spec, sort).setMaxResults(limit).getResultList();
+    }
+
+    private TypedQuery<ProductResponseDTO> select(Specification<ProductModel> spec, Sort sort) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ProductResponseDTO> query = cb.createQuery(ProductResponseDTO.class);
+        Root<ProductModel> root = query.from(ProductModel.class);
+        query.select(cb.construct(ProductResponseDTO.class,
+                root.get("id"), root.get("name"), root.get("category"), root.get("unitPrice"), root.get("expirationDate"),
+                root.get("stockQuantity"), root.get("creationDate"), root.get("updateDate"), root.get("version")));
+        filterAndSort(cb, query, root, spec, sort);
+        return entityManager.createQuery(query);
+    }
+
+    // Sparse reads select the requested columns only; ordering by a column that is not selected is fine in SQL
+    private TypedQuery<Tuple> selectColumns(Specification<ProductModel> spec, Sort sort, ProductFields fields) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<ProductModel> root = query.from(ProductModel.class);
+        query.multiselect(fields.columns().stream().<Selection<?>>map(column -> root.get(column).alias(column)).toList());
+        filterAndSort(cb, query, root, spec, sort);
+        return entityManager.createQuery(query);
+    }
+
+    private static void filterAndSort(CriteriaBuilder cb, CriteriaQuery<?> query, Root<ProductModel> root,
+                                      Specification<ProductModel> spec, Sort sort) {
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        if (sort.isSorted()) {
+            query.orderBy(sort.stream()
+                    .map(order -> {
+                        Expression<?> path = ProductSpecifications.sortPath(root, order.getProperty());
+                        return order.isAscending() ? cb.asc(path) : cb.desc(path);
+                    })
+                    .toList());
+        }
+    }
+
+    private static ProductResponseDTO toResponse(Tuple row, ProductFields fields) {
+        ProductResponseDTO product = new ProductResponseDTO();
+        for (String column : fields.columns()) {
+            ProductFields.set(product, column, row.get(column));
+        }
+        // Derived only when asked for
+        if (fields.contains(ProductFields.IN_STOCK)) {
+            product.setInStock(product.getStockQuantity() > 0);
+        }
+        return product;
+    }
+
+    private long count(Specification<ProductModel> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<ProductModel> root = query.from(ProductModel.class);
+        query.select(cb.count(root));
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        return entityManager.createQuery(query).getSingleResult();
+    }
+}
@@ -1,49 +1,82 @@
 package com.InventoryManager.InventoryManager.repository;
 import com.InventoryManager.InventoryManager.model.ProductModel;
-import com.InventoryManager.InventoryManager.dto.CategoryMetricsDTO;
+import com.InventoryManager.InventoryManager.dto.CategoryAggregateDTO;
+import com.InventoryManager.InventoryManager.dto.ProductFilterDTO;
+import com.InventoryManager.InventoryManager.dto.ProductNameDTO;
+import com.InventoryManager.InventoryManager.dto.ProductResponseDTO;
+import jakarta.persistence.QueryHint;
 import jakarta.transaction.Transactional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.jpa.SpecHints;
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface ProductRepository extends JpaRepository<ProductModel, Long> {
+public interface ProductRepository extends JpaRepository<ProductModel, Long>, JpaSpecificationExecutor<ProductModel>, ProductStockRepository, ProductProjectionRepository, ProductPatchRepository {
     Page<ProductModel> findByNameContainingIgnoreCase(String name, Pageable pageable);
     Page<ProductModel> findByCategoryIn(List<String> categories, Pageable pageable);
 
-    @Query("SELECT new com.InventoryManager.InventoryManager.dto.CategoryMetricsDTO(" +
-            "CAST(SUM(p.stockQuantity) AS integer), " +
-            "CAST(SUM(p.unitPrice) AS float )," +
-            "CAST(AVG(p.unitPrice) AS float )) FROM ProductModel p WHERE (p.category = :category) GROUP BY p.category")
-    CategoryMetricsDTO getCategoryMetrics(@Param("category") String category);
+    @Query("SELECT new com.InventoryManager.InventoryManager.dto.CategoryAggregateDTO(" +
+            "p.category, COUNT(p), SUM(p.stockQuantity), SUM(p.unitPrice), SUM(p.unitPrice * p.stockQuantity), " +
+            "SUM(CASE WHEN p.stockQuantity = 0 THEN 1 ELSE 0 END)) " +
+            "FROM ProductModel p GROUP BY p.category")
+    List<CategoryAggregateDTO> getCategoryAggregates();
 
-    @Query("SELECT SUM(p.stockQuantity) FROM ProductModel p WHERE (p.category = :category)")
-    Integer getTotalProductStockInCategory(@Param("category") String category);
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new com.InventoryManager.InventoryManager.dto.ProductNameDTO(p.id, p.name) FROM ProductModel p")
+    Stream<ProductNameDTO> streamProductNames();
 
-    @Query("SELECT SUM(p.unitPrice * p.stockQuantity) FROM ProductModel p WHERE (p.category = :category)")
-    Float getTotalValueInCategory(@Param("category") String category);
+    // Feeds the in-memory catalog engine, which adds rows in id order
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new com.InventoryManager.InventoryManager.dto.ProductResponseDTO(p.id, p.name, p.category, " +
+            "p.unitPrice, p.expirationDate, p.stockQuantity, p.creationDate, p.updateDate, p.version) FROM ProductModel p ORDER BY p.id")
+    Stream<ProductResponseDTO> streamResponses();
 
-    @Query("SELECT AVG(p.unitPrice) FROM ProductModel p WHERE (p.category = :category)")
-    Float getAverageValueInCategory(@Param("category") String category);
+    // Hot write paths read the row straight from the database instead of contending on the second-level cache region
+    @QueryHints({
+            @QueryHint(name = SpecHints.HINT_SPEC_CACHE_RETRIEVE_MODE, value = "BYPASS"),
+            @QueryHint(name = SpecHints.HINT_SPEC_CACHE_STORE_MODE, value = "BYPASS")
+    })
+    @Query("SELECT p FROM ProductModel p WHERE p.id = :id")
+    Optional<ProductModel> findUncachedById(@Param("id") Long id);
 
-    @Query("SELECT AVG(p.unitPrice) FROM ProductModel p")
-    Float getAverageValue();
+    @QueryHints({
+            @QueryHint(name = SpecHints.HINT_SPEC_CACHE_RETRIEVE_MODE, value = "BYPASS"),
+            @QueryHint(name = SpecHints.HINT_SPEC_CACHE_STORE_MODE, value = "BYPASS")
+    })
+    @Query("SELECT p FROM ProductModel p WHERE p.id IN :ids")
+    List<ProductModel> findAllUncachedById(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT new com.InventoryManager.InventoryManager.dto.ProductResponseDTO(p.id, p.name, p.category, " +
+            "p.unitPrice, p.expirationDate, p.stockQuantity, p.creationDate, p.updateDate, p.version) FROM ProductModel p WHERE p.id = :id")
+    Optional<ProductResponseDTO> findResponseById(@Param("id") Long id);
+
+    @Query("SELECT new com.InventoryManager.InventoryManager.dto.ProductResponseDTO(p.id, p.name, p.category, " +
+            "p.unitPrice, p.expirationDate, p.stockQuantity, p.creationDate, p.updateDate, p.version) FROM ProductModel p WHERE p.id IN :ids")
+    List<ProductResponseDTO> findResponsesByIdIn(@Param("ids") Collection<Long> ids);
 
     @Query("SELECT p FROM ProductModel p WHERE (:inStock is null OR (p.stockQuantity > 0 AND :inStock = true) OR (p.stockQuantity = 0 AND :inStock = false))")
     Page<ProductModel> findByStockAvailability(@Param("inStock") Boolean inStock, Pageable pageable);
 
-    @Query("SELECT p FROM ProductModel p WHERE " +
-            "(:name IS NULL OR LOWER(p.name) LIKE LOWER(CONCAT('%', :name, '%'))) AND " +
-            "(:categories IS NULL OR p.category IN :categories) AND " +
-            "(:inStock IS NULL OR (p.stockQuantity > 0 AND :inStock = TRUE) OR (p.stockQuantity = 0 AND :inStock = FALSE))")
-    Page<ProductModel> findProductsByFilters(
-            @Param("name") String name,
-            @Param("categories") List<String> categories,
-            @Param("inStock") Boolean inStock,
-            Pageable pageable);
+    // Built from specifications so absent filters drop out of the SQL; a catch-all "(:x IS NULL OR ...)" predicate
+    // cannot use the category and stock indexes
+    default Page<ProductModel> findProductsByFilters(ProductFilterDTO filter, Pageable pageable) {
+        return findAll(ProductSpecifications.withFilters(filter, LocalDate.now()), pageable);
+    }
+
+    default Page<ProductResponseDTO> findResponsesByFilters(ProductFilterDTO filter, Pageable pageable) {
+        return findResponses(ProductSpecifications.withFilters(filter, LocalDate.now()), pageable);
+    }
 }
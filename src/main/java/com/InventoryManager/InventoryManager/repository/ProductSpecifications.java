@@ -0,0 +1,113 @@
+package com.InventoryManager.InventoryManager.repository;
+
+import com.InventoryManager.InventoryManager.dto.ProductFilterDTO;
+import com.InventoryManager.InventoryManager.model.ProductModel;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+
+public final class ProductSpecifications {
+
+    private ProductSpecifications() {
+    }
+
+    public static Specification<ProductModel> nameContains(String name) {
+        return (root, query, cb) -> name == null ? null
+                : cb.like(cb.lower(root.get("name")), "%" + name.toLowerCase(Locale.ROOT) + "%");
+    }
+
+    public static Specification<ProductModel> idIn(Collection<Long> ids) {
+        return (root, query, cb) -> root.get("id").in(ids);
+    }
+
+    public static Specification<ProductModel> categoryIn(List<String> categories) {
+        return (root, query, cb) -> categories == null ? null : root.get("category").in(categories);
+    }
+
+    public static Specification<ProductModel> inStock(Boolean inStock) {
+        return (root, query, cb) -> {
+            if (inStock == null) {
+                return null;
+            }
+            Path<Integer> stockQuantity = root.get("stockQuantity");
+            return inStock ? cb.gt(stockQuantity, 0) : cb.equal(stockQuantity, 0);
+        };
+    }
+
+    /** Expiration date within {@code [from, to]}; either bound may be open. Products that never expire never match. */
+    public static Specification<ProductModel> expiringBetween(LocalDate from, LocalDate to) {
+        return (root, query, cb) -> {
+            Path<LocalDate> expirationDate = root.get("expirationDate");
+            if (from != null && to != null) {
+                return cb.between(expirationDate, from, to);
+            }
+            return from != null ? cb.greaterThanOrEqualTo(expirationDate, from)
+                    : to != null ? cb.lessThanOrEqualTo(expirationDate, to)
+                    : null;
+        };
+    }
+
+    /** A product has expired once its expiration date is before {@code today}. */
+    public static Specification<ProductModel> expired(Boolean expired, LocalDate today) {
+        return (root, query, cb) -> {
+            if (expired == null) {
+                return null;
+            }
+            Path<LocalDate> expirationDate = root.get("expirationDate");
+            return expired ? cb.lessThan(expirationDate, today)
+                    : cb.or(cb.isNull(expirationDate), cb.greaterThanOrEqualTo(expirationDate, today));
+        };
+    }
+
+    /**
+     * Column a sort property orders by. Products store the category key, so a category sort goes through the category
+     * table to order by name; the join is shared with a seek predicate on the same query.
+     */
+    public static Path<?> sortPath(Root<ProductModel> root, String property) {
+        if (!"category".equals(property)) {
+            return root.get(property);
+        }
+        Join<?, ?> category = root.getJoins().stream()
+                .filter(join -> "categoryEntry".equals(join.getAttribute().getName()))
+                .findFirst()
+                .orElseGet(() -> root.join("categoryEntry"));
+        return category.get("name");
+    }
+
+    public static Specification<ProductModel> withFilters(ProductFilterDTO filter, LocalDate today) {
+        return Specification.where(nameContains(filter.getName())).and(attributeFilters(filter, today));
+    }
+
+    /** Every filter except the name, for when the name index has already resolved the matching ids. */
+    public static Specification<ProductModel> attributeFilters(ProductFilterDTO filter, LocalDate today) {
+        return Specification.where(categoryIn(filter.getCategory()))
+                .and(inStock(filter.getInStock()))
+                .and(expiringBetween(filter.getExpiringFrom(), filter.getExpiringTo()))
+                .and(expired(filter.getExpired(), today));
+    }
+
+    /**
+     * Seek predicate for keyset pagination ordered by {@code (property, id)}: rows strictly after
+     * {@code (value, id)} in the given direction. A {@code null} value means the order is by id alone.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static Specification<ProductModel> seekAfter(String property, Sort.Direction direction, Comparable<?> value, Long id) {
+        return (root, query, cb) -> {
+            Path<Long> idPath = root.get("id");
+            if (value == null) {
+                return direction.isAscending() ? cb.greaterThan(idPath, id) : cb.lessThan(idPath, id);
+            }
+            Path<Comparable> keyPath = (Path<Comparable>) sortPath(root, property);
+            Comparable key = value;
+            return direction.isAscending()
+                    ? cb.or(cb.greaterThan(keyPath, key), cb.and(cb.equal(keyPath, key), cb.greaterThan(idPath, id)))
+                    : cb.or(cb.lessThan(keyPath, key), cb.and(cb.equal(keyPath, key), cb.lessThan(idPath, id)));
+        };
+    }
+}
@@ -0,0 +1,28 @@
+package com.InventoryManager.InventoryManager.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+public interface ProductStockRepository {
+    /** Stock an in-stock product held before it was zeroed, so callers can take it out of their aggregates. */
+    record ZeroedStock(Long id, int categoryId, long unitPriceCents, int stockQuantity) {
+    }
+
+    /** Stock an adjustment left behind, with the category and price the product had while its row was locked. */
+    record AdjustedStock(int categoryId, long unitPriceCents, int stockQuantity) {
+    }
+
+    /**
+     * Adds {@code delta} (which may be negative) to the stock of a product in one conditional statement.
+     * Returns the stock the change left behind, or empty when the product does not exist or the stock would drop
+     * below zero.
+     */
+    Optional<AdjustedStock> adjustStock(Long id, int delta);
+
+    /**
+     * Zeroes the stock of at most {@code limit} in-stock products whose expiration date is in {@code [from, to)},
+     * with {@code from == null} leaving the range open below. The rows are locked until the surrounding transaction ends.
+     */
+    List<ZeroedStock> zeroExpiredStock(LocalDate from, LocalDate to, int limit);
+}
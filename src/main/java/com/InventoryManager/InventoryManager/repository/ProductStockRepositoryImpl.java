@@ -0,0 +1,76 @@
+package com.InventoryManager.InventoryManager.repository;
+
+import com.InventoryManager.InventoryManager.model.ProductModel;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+class ProductStockRepositoryImpl implements ProductStockRepository {
+    // The row lock taken by the UPDATE serializes concurrent deltas and the guard keeps stock from going negative
+    private static final String ADJUST_STOCK_SQL = "UPDATE product_model "
+            + "SET stock_quantity = stock_quantity + ?, update_date = CURRENT_DATE, version = version + 1 "
+            + "WHERE id = ? AND stock_quantity + ? >= 0";
+    private static final String SELECT_STOCK_SQL = "SELECT category_id, CAST(unit_price * 100 AS BIGINT) AS unit_price_cents, "
+            + "stock_quantity FROM product_model WHERE id = ?";
+    // Prices come back as cents, so a large sweep creates no BigDecimal per row.
+    // Locking the selected rows keeps a concurrent stock change from slipping in between reading and zeroing them
+    private static final String SELECT_EXPIRED_SQL = "SELECT id, category_id, CAST(unit_price * 100 AS BIGINT) AS unit_price_cents, stock_quantity FROM product_model "
+            + "WHERE expiration_date >= ? AND expiration_date < ? AND stock_quantity > 0 FETCH FIRST ? ROWS ONLY FOR UPDATE";
+    private static final String SELECT_ALL_EXPIRED_SQL = "SELECT id, category_id, CAST(unit_price * 100 AS BIGINT) AS unit_price_cents, stock_quantity FROM product_model "
+            + "WHERE expiration_date < ? AND stock_quantity > 0 FETCH FIRST ? ROWS ONLY FOR UPDATE";
+    private static final String ZERO_STOCK_SQL = "UPDATE product_model SET stock_quantity = 0, update_date = CURRENT_DATE, "
+            + "version = version + 1 WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+    private final TransactionTemplate transactionTemplate;
+
+    ProductStockRepositoryImpl(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory,
+                               PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManagerFactory = entityManagerFactory;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public Optional<AdjustedStock> adjustStock(Long id, int delta) {
+        // Plain JDBC instead of a JPQL bulk update, which would invalidate the entire second-level cache region.
+        // The row is read back while the UPDATE still holds its lock, so neither a concurrent delta nor a concurrent
+        // price or category change is mixed into what the caller counts in its aggregates.
+        RowMapper<AdjustedStock> mapper = (rs, rowNum) -> new AdjustedStock(
+                rs.getInt("category_id"), rs.getLong("unit_price_cents"), rs.getInt("stock_quantity"));
+        Optional<AdjustedStock> stock = Objects.requireNonNull(transactionTemplate.execute(status ->
+                jdbcTemplate.update(ADJUST_STOCK_SQL, delta, id, delta) == 0
+                        ? Optional.<AdjustedStock>empty()
+                        : Optional.of(jdbcTemplate.queryForObject(SELECT_STOCK_SQL, mapper, id))));
+        if (stock.isPresent()) {
+            entityManagerFactory.getCache().evict(ProductModel.class, id);
+        }
+        return stock;
+    }
+
+    @Override
+    public List<ZeroedStock> zeroExpiredStock(LocalDate from, LocalDate to, int limit) {
+        RowMapper<ZeroedStock> mapper = (rs, rowNum) -> new ZeroedStock(
+                rs.getLong("id"), rs.getInt("category_id"), rs.getLong("unit_price_cents"), rs.getInt("stock_quantity"));
+        List<ZeroedStock> due = from == null
+                ? jdbcTemplate.query(SELECT_ALL_EXPIRED_SQL, mapper, Date.valueOf(to), limit)
+                : jdbcTemplate.query(SELECT_EXPIRED_SQL, mapper, Date.valueOf(from), Date.valueOf(to), limit);
+        if (!due.isEmpty()) {
+            jdbcTemplate.batchUpdate(ZERO_STOCK_SQL, due, due.size(),
+                    (statement, row) -> statement.setLong(1, row.id()));
+            Cache cache = entityManagerFactory.getCache();
+            due.forEach(row -> cache.evict(ProductModel.class, row.id()));
+        }
+        return due;
+    }
+}
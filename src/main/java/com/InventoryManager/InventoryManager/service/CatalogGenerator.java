@@ -0,0 +1,96 @@
+package com.InventoryManager.InventoryManager.service;
+
+import com.InventoryManager.InventoryManager.config.CatalogSeedProperties;
+import com.InventoryManager.InventoryManager.config.CatalogSeedProperties.Distribution;
+import com.InventoryManager.InventoryManager.model.Money;
+import com.InventoryManager.InventoryManager.model.ProductModel;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic synthetic products. Row {@code i} is drawn from its own generator seeded by the run seed and
+ * {@code i}, so any row can be rebuilt in isolation and parallel workers never share random state.
+ */
+public class CatalogGenerator {
+    private static final String[] CATEGORIES = {"Electronics", "Books", "Home Goods", "Groceries", "Apparel",
+            "Toys", "Garden", "Sports", "Beauty", "Office"};
+    private static final String[] ADJECTIVES = {"Red", "Blue", "Compact", "Deluxe", "Eco", "Classic", "Smart",
+            "Vintage", "Portable", "Organic"};
+    private static final String[] NOUNS = {"Apple", "Banana", "Cable", "Desk", "Lamp", "Mouse", "Paper", "Shoe",
+            "Table", "Watch", "Kettle", "Notebook"};
+    // Odd 64-bit golden ratio constant: spreads consecutive row numbers across the seed space
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private final long seed;
+    private final LocalDate baseDate;
+    private final String[] categories;
+    private final double[] cumulativeCategoryWeights;
+    private final CatalogSeedProperties.Price price;
+    private final CatalogSeedProperties.Stock stock;
+    private final CatalogSeedProperties.Expiry expiry;
+
+    public CatalogGenerator(CatalogSeedProperties properties, long seed, LocalDate baseDate) {
+        this.price = properties.getPrice();
+        this.stock = properties.getStock();
+        this.expiry = properties.getExpiry();
+        if (properties.getCategories() < 1) {
+            throw new IllegalArgumentException("inventory.seed.categories must be at least 1");
+        }
+        if (price.getMin().compareTo(new BigDecimal("0.01")) < 0 || price.getMax().compareTo(price.getMin()) < 0) {
+            throw new IllegalArgumentException("inventory.seed.price needs 0.01 <= min <= max");
+        }
+        if (stock.getMax() < 0 || expiry.getMaxDays() < expiry.getMinDays()) {
+            throw new IllegalArgumentException("inventory.seed.stock.max must be >= 0 and expiry.max-days >= expiry.min-days");
+        }
+        this.seed = seed;
+        this.baseDate = baseDate;
+        this.categories = new String[properties.getCategories()];
+        this.cumulativeCategoryWeights = new double[categories.length];
+        double total = 0;
+        for (int k = 0; k < categories.length; k++) {
+            categories[k] = k < CATEGORIES.length ? CATEGORIES[k] : "Category " + (k + 1);
+            total += 1 / Math.pow(k + 1, properties.getCategorySkew());
+            cumulativeCategoryWeights[k] = total;
+        }
+        for (int k = 0; k < categories.length; k++) {
+            cumulativeCategoryWeights[k] /= total;
+        }
+    }
+
+    /** The product at position {@code index} of the catalog, without an id. */
+    public ProductModel product(long index) {
+        SplittableRandom random = new SplittableRandom(seed ^ (index * GOLDEN_GAMMA));
+        ProductModel product = new ProductModel();
+        product.setName(ADJECTIVES[random.nextInt(ADJECTIVES.length)] + " "
+                + NOUNS[random.nextInt(NOUNS.length)] + " " + (index + 1));
+        product.setCategory(category(random.nextDouble()));
+        product.setUnitPrice(BigDecimal.valueOf(sample(random.nextDouble(),
+                price.getMin().doubleValue(), price.getMax().doubleValue(), price.getDistribution()))
+                .setScale(Money.SCALE, RoundingMode.HALF_UP));
+        // Draw every value even when it is not used, so one setting never shifts the values of the others
+        boolean outOfStock = random.nextDouble() < stock.getOutOfStockRatio();
+        int quantity = (int) sample(random.nextDouble(), 1, stock.getMax() + 1, stock.getDistribution());
+        product.setStockQuantity(outOfStock ? 0 : Math.min(quantity, stock.getMax()));
+        boolean expires = random.nextDouble() < expiry.getRatio();
+        int days = expiry.getMinDays() + random.nextInt(expiry.getMaxDays() - expiry.getMinDays() + 1);
+        product.setExpirationDate(expires ? baseDate.plusDays(days) : null);
+        product.setCreationDate(baseDate);
+        product.setUpdateDate(baseDate);
+        return product;
+    }
+
+    private String category(double u) {
+        int k = Arrays.binarySearch(cumulativeCategoryWeights, u);
+        return categories[Math.min(k < 0 ? -k - 1 : k, categories.length - 1)];
+    }
+
+    private static double sample(double u, double min, double max, Distribution distribution) {
+        return switch (distribution) {
+            case UNIFORM -> min + u * (max - min);
+            case LOG_UNIFORM -> Math.exp(Math.log(min) + u * (Math.log(max) - Math.log(min)));
+        };
+    }
+}
@@ -0,0 +1,98 @@
+package com.InventoryManager.InventoryManager.service;
+
+import com.InventoryManager.InventoryManager.config.CatalogSeedProperties;
+import com.InventoryManager.InventoryManager.model.ProductModel;
+import com.InventoryManager.InventoryManager.repository.ProductBulkLoader;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fills the catalog with {@link CatalogGenerator} rows. Workers claim fixed-size chunks and write each one in its own
+ * transaction through {@link ProductBulkLoader}; ids are reserved up front, so row {@code i} always gets the same id
+ * on a fresh database.
+ */
+@Service
+@Timed(value = "inventory.service", description = "Service method calls")
+public class CatalogSeeder {
+    private final CatalogSeedProperties properties;
+    private final ProductBulkLoader productBulkLoader;
+    private final CategoryDictionary categoryDictionary;
+    private final TransactionTemplate transactionTemplate;
+
+    public CatalogSeeder(
+            CatalogSeedProperties properties,
+            ProductBulkLoader productBulkLoader,
+            CategoryDictionary categoryDictionary,
+            PlatformTransactionManager transactionManager) {
+        this.properties = properties;
+        this.productBulkLoader = productBulkLoader;
+        this.categoryDictionary = categoryDictionary;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /** Writes {@code inventory.seed.products} rows and returns the seed they were generated from. */
+    public long seedCatalog() {
+        long seed = properties.getSeed() != null ? properties.getSeed() : ThreadLocalRandom.current().nextLong();
+        LocalDate baseDate = properties.getBaseDate() != null ? properties.getBaseDate() : LocalDate.now();
+        CatalogGenerator generator = new CatalogGenerator(properties, seed, baseDate);
+        long count = properties.getProducts();
+        int batchSize = Math.max(1, properties.getBatchSize());
+        long chunks = Math.ceilDiv(count, batchSize);
+        long[] blockEnds = productBulkLoader.reserveIdBlocks(
+                Math.toIntExact(Math.ceilDiv(count, ProductModel.ID_ALLOCATION_SIZE)));
+
+        AtomicLong nextChunk = new AtomicLong();
+        int threads = Math.max(1, properties.getThreads());
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads, Thread.ofPlatform().name("catalog-seed-", 0).factory())) {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                workers.add(executor.submit(() -> {
+                    try {
+                        for (long chunk = nextChunk.getAndIncrement(); chunk < chunks; chunk = nextChunk.getAndIncrement()) {
+                            List<ProductModel> rows = rows(generator, blockEnds, chunk * batchSize,
+                                    Math.min(count, (chunk + 1) * batchSize));
+                            // New categories commit first, so concurrent chunks never wait on each other's
+                            categoryDictionary.resolveAll(rows.stream().map(ProductModel::getCategory).toList());
+                            transactionTemplate.executeWithoutResult(status -> productBulkLoader.insert(rows, categoryDictionary::resolve));
+                        }
+                    } catch (RuntimeException e) {
+                        // Stop the other workers from claiming further chunks
+                        nextChunk.set(chunks);
+                        throw e;
+                    }
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Seeding the catalog failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while seeding the catalog", e);
+        }
+        return seed;
+    }
+
+    private static List<ProductModel> rows(CatalogGenerator generator, long[] blockEnds, long from, long to) {
+        List<ProductModel> rows = new ArrayList<>((int) (to - from));
+        for (long i = from; i < to; i++) {
+            ProductModel product = generator.product(i);
+            int allocation = ProductModel.ID_ALLOCATION_SIZE;
+            product.setId(blockEnds[(int) (i / allocation)] - (allocation - 1) + i % allocation);
+            rows.add(product);
+        }
+        return rows;
+    }
+}
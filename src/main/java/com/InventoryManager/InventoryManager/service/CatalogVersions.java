@@ -0,0 +1,140 @@
+package com.InventoryManager.InventoryManager.service;
+
+import com.InventoryManager.InventoryManager.dto.ProductChangeDTO;
+import com.InventoryManager.InventoryManager.dto.ProductFields;
+import com.InventoryManager.InventoryManager.dto.ProductResponseDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Entity tags for conditional GETs, answered without reading the catalog. Every committed product change bumps the
+ * catalog version and is recorded against the product. Changes are published after the aggregates and the name
+ * index are updated, so a tag read before the data is never newer than the data it describes.
+ */
+@Component
+public class CatalogVersions {
+    // Tags from a previous run never match, since versions start again at zero
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong catalogVersion = new AtomicLong();
+    private final Map<Long, Change> productVersions = new ConcurrentHashMap<>();
+    private final int maxTrackedProducts;
+    // Version of every product not in productVersions; raised whenever the map is cleared
+    private volatile long floor;
+    // How long a replica may trail the primary. Catalog tags name the newest version at least this old, which a list
+    // read from a replica already reflects; changes still within it wait here, oldest first, as {nanos, version}
+    private final long replicaLagNanos;
+    private final Deque<long[]> unsettled = new ConcurrentLinkedDeque<>();
+    private final AtomicLong settledVersion = new AtomicLong();
+
+    public CatalogVersions(
+            @Value("${inventory.etag.max-tracked-products:100000}") int maxTrackedProducts,
+            @Value("${inventory.replicas.enabled:false}") boolean replicasEnabled,
+            @Value("${inventory.replicas.max-lag:1s}") Duration replicaMaxLag) {
+        this.maxTrackedProducts = maxTrackedProducts;
+        this.replicaLagNanos = replicasEnabled ? replicaMaxLag.toNanos() : 0;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onProductChanged(ProductChangedEvent event) {
+        long version = catalogVersion.incrementAndGet();
+        if (productVersions.size() >= maxTrackedProducts) {
+            // Raise the floor before clearing, so no product reads an older version than it had
+            floor = version;
+            productVersions.clear();
+        }
+        productVersions.put(event.productId(), new Change(version, rowVersion(event)));
+        changed(version);
+    }
+
+    // No cached copy of a deleted product is current. A change published without the product, such as an expiry
+    // sweep, evicts the cached one before it is recorded, so any copy read after that is
+    private static long rowVersion(ProductChangedEvent event) {
+        if (event.type() == ProductChangeDTO.Type.DELETED) {
+            return Long.MAX_VALUE;
+        }
+        return event.product() == null || event.product().getVersion() == null ? 0 : event.product().getVersion();
+    }
+
+    // The catalog was seeded behind the change events while the application started
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void invalidateAll() {
+        floor = catalogVersion.incrementAndGet();
+        productVersions.clear();
+        changed(floor);
+    }
+
+    private void changed(long version) {
+        if (replicaLagNanos == 0) {
+            settledVersion.set(version);
+            return;
+        }
+        unsettled.addLast(new long[] {System.nanoTime(), version});
+        settle();
+    }
+
+    // Newest version committed at least the replica lag ago
+    private long settle() {
+        long cutoff = System.nanoTime() - replicaLagNanos;
+        for (long[] change = unsettled.peekFirst(); change != null && change[0] - cutoff <= 0; change = unsettled.peekFirst()) {
+            if (unsettled.remove(change)) {
+                settledVersion.accumulateAndGet(change[1], Math::max);
+            }
+        }
+        return settledVersion.get();
+    }
+
+    /** Count of changes committed since startup. */
+    public long catalogVersion() {
+        return catalogVersion.get();
+    }
+
+    /**
+     * Weak tag for list pages, category metrics and other catalog-wide reads. It includes the day the expiry filters
+     * depend on. Every read may be sent as JSON, CBOR or Smile under the same tag, and list pages are large enough to
+     * be gzipped, which the container only does for responses without a strong tag. If-None-Match compares weakly,
+     * so these still produce 304s. With read replicas the version lags by their maximum lag, so a page read from a
+     * replica is never tagged newer than its content; the tag moves on once the lag has passed.
+     */
+    public String catalogTag() {
+        return "W/\"" + epoch + "-" + settle() + "-" + LocalDate.now().toEpochDay() + '"';
+    }
+
+    /** Version of one product, to be read before the product itself and passed to {@link #productTag}. */
+    public long productVersion(Long id) {
+        Change change = productVersions.get(id);
+        return change != null ? change.version() : floor;
+    }
+
+    /**
+     * Whether product {@code id} as read includes the last recorded change of it. A cached product is refreshed only
+     * after the change was recorded, so until then it is older than the tag of the version read before it. A sparse
+     * product without its version was selected from the table and is current.
+     */
+    public boolean isCurrent(Long id, ProductResponseDTO product) {
+        Change change = productVersions.get(id);
+        return change == null || product.getVersion() == null || product.getVersion() >= change.rowVersion();
+    }
+
+    /**
+     * Weak tag for a single product, which is sent as JSON, CBOR or Smile under the same tag like the catalog reads.
+     * It is built from the version and the requested fields alone, so a matching If-None-Match is answered without
+     * reading the product.
+     */
+    public String productTag(long version, ProductFields fields) {
+        return "W/\"" + epoch + "-" + version + "-" + Long.toHexString(fields.mask()) + '"';
+    }
+
+    // Catalog version of a product's last change and the row version it committed
+    private record Change(long version, long rowVersion) {
+    }
+}
@@ -0,0 +1,138 @@
+package com.InventoryManager.InventoryManager.service;
+
+import com.InventoryManager.InventoryManager.dto.CategoryAggregateDTO;
+import com.InventoryManager.InventoryManager.model.Money;
+import com.InventoryManager.InventoryManager.model.ProductModel;
+import org.springframework.stereotype.Component;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-category running totals kept in memory so the metrics endpoints never scan the product table.
+ * Loaded once from the database's exact DECIMAL sums and then updated incrementally by {@link ProductService} on every write.
+ */
+@Component
+public class CategoryAggregateStore {
+
+    // Sums of money are exact cents, so millions of updates neither drift nor allocate a BigDecimal each
+    public record CategoryAggregate(long productCount, long outOfStockCount, long totalStock, long unitPriceSumCents,
+                                    long totalValueCents) {
+        static final CategoryAggregate EMPTY = new CategoryAggregate(0, 0, 0, 0, 0);
+
+        CategoryAggregate plus(CategoryAggregate other) {
+            return new CategoryAggregate(
+                    productCount + other.productCount,
+                    outOfStockCount + other.outOfStockCount,
+                    totalStock + other.totalStock,
+                    Math.addExact(unitPriceSumCents, other.unitPriceSumCents),
+                    Math.addExact(totalValueCents, other.totalValueCents));
+        }
+
+        boolean hasProducts() {
+            return productCount > 0;
+        }
+
+        CategoryAggregate negate() {
+            return new CategoryAggregate(-productCount, -outOfStockCount, -totalStock, -unitPriceSumCents,
+                    -totalValueCents);
+        }
+    }
+
+    /** What a single product adds to the aggregate of its category. */
+    public record Contribution(String category, int stockQuantity, long unitPriceCents) {
+        public static Contribution of(ProductModel product) {
+            int stock = product.getStockQuantity() == null ? 0 : product.getStockQuantity();
+            return new Contribution(product.getCategory(), stock, Money.toCents(product.getUnitPrice()));
+        }
+
+        CategoryAggregate toAggregate() {
+            return new CategoryAggregate(1, stockQuantity == 0 ? 1 : 0, stockQuantity, unitPriceCents,
+                    Money.times(unitPriceCents, stockQuantity));
+        }
+    }
+
+    private final Map<String, CategoryAggregate> aggregates = new ConcurrentHashMap<>();
+
+    public void rebuild(List<CategoryAggregateDTO> rows) {
+        Map<String, CategoryAggregate> loaded = new ConcurrentHashMap<>();
+        for (CategoryAggregateDTO row : rows) {
+            loaded.put(row.getCategory(), new CategoryAggregate(
+                    row.getProductCount(),
+                    row.getOutOfStockCount() == null ? 0 : row.getOutOfStockCount(),
+                    row.getTotalStock() == null ? 0 : row.getTotalStock(),
+                    Money.toCents(row.getUnitPriceSum()),
+                    Money.toCents(row.getTotalValue())));
+        }
+        aggregates.clear();
+        aggregates.putAll(loaded);
+    }
+
+    public void add(Contribution contribution) {
+        apply(contribution.category(), contribution.toAggregate());
+    }
+
+    public void remove(Contribution contribution) {
+        apply(contribution.category(), contribution.toAggregate().negate());
+    }
+
+    public void replace(Contribution before, Contribution after) {
+        if (before.equals(after)) {
+            return;
+        }
+        if (before.category() != null && before.category().equals(after.category())) {
+            // One update, so the category never reads as empty between taking the product out and putting it back
+            apply(before.category(), before.toAggregate().negate().plus(after.toAggregate()));
+            return;
+        }
+        remove(before);
+        add(after);
+    }
+
+    /** Moves only the stock of one product from {@code before} to {@code after}; its count and unit price stay put. */
+    public void adjustStock(String category, long unitPriceCents, int before, int after) {
+        int delta = after - before;
+        int outOfStock = (after == 0 ? 1 : 0) - (before == 0 ? 1 : 0);
+        apply(category, new CategoryAggregate(0, outOfStock, delta, 0, Money.times(unitPriceCents, delta)));
+    }
+
+    public Optional<CategoryAggregate> get(String category) {
+        return Optional.ofNullable(aggregates.get(category)).filter(CategoryAggregate::hasProducts);
+    }
+
+    public CategoryAggregate total() {
+        return sum(aggregates.values());
+    }
+
+    /** Every category in name order. Each entry is consistent on its own, as the totals of one category always are. */
+    public SortedMap<String, CategoryAggregate> snapshot() {
+        SortedMap<String, CategoryAggregate> snapshot = new TreeMap<>();
+        aggregates.forEach((category, aggregate) -> {
+            if (aggregate.hasProducts()) {
+                snapshot.put(category, aggregate);
+            }
+        });
+        return snapshot;
+    }
+
+    public static CategoryAggregate sum(Collection<CategoryAggregate> aggregates) {
+        return aggregates.stream().reduce(CategoryAggregate.EMPTY, CategoryAggregate::plus);
+    }
+
+    private void apply(String category, CategoryAggregate delta) {
+        if (category == null) {
+            return;
+        }
+        // compute() runs atomically per key. Commits apply their changes in no particular order, so a category can
+        // briefly hold no products yet still owe the rest of a change; it is dropped only once nothing is left, and
+        // until products return it is hidden, which keeps the 404 behaviour of the old queries
+        aggregates.compute(category, (key, current) -> {
+            CategoryAggregate updated = (current == null ? CategoryAggregate.EMPTY : current).plus(delta);
+            return updated.equals(CategoryAggregate.EMPTY) ? null : updated;
+        });
+    }
+}
@@ -0,0 +1,132 @@
+package com.InventoryManager.InventoryManager.service;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory name to key dictionary of the category table. Categories are only ever added, so an entry never goes
+ * stale; a name or key this instance has not seen yet, e.g. one added by another instance, is looked up once.
+ * Plain JDBC rather than a repository, because the JPA converter that uses it is created with the persistence unit.
+ */
+@Component
+public class CategoryDictionary {
+    // Both skip a name that already exists; PostgreSQL waits for a concurrent insert of it to commit or roll back
+    private static final String INSERT_POSTGRESQL_SQL = "INSERT INTO category (name) VALUES (?) ON CONFLICT (name) DO NOTHING";
+    private static final String INSERT_SQL = "MERGE INTO category c USING (VALUES CAST(? AS VARCHAR)) v (name) "
+            + "ON c.name = v.name WHEN NOT MATCHED THEN INSERT (name) VALUES (v.name)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<String, Integer> idsByName = new ConcurrentHashMap<>();
+    private final Map<Integer, String> namesById = new ConcurrentHashMap<>();
+    private volatile boolean loaded;
+    private volatile String databaseProductName;
+
+    public CategoryDictionary(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /** Key of an existing category. */
+    public Optional<Integer> find(String name) {
+        load();
+        Integer id = idsByName.get(name);
+        if (id == null) {
+            List<Integer> ids = jdbcTemplate.queryForList("SELECT id FROM category WHERE name = ?", Integer.class, name);
+            if (ids.isEmpty()) {
+                return Optional.empty();
+            }
+            id = ids.get(0);
+            remember(id, name);
+        }
+        return Optional.of(id);
+    }
+
+    public String nameOf(int id) {
+        load();
+        String name = namesById.get(id);
+        if (name == null) {
+            List<String> names = jdbcTemplate.queryForList("SELECT name FROM category WHERE id = ?", String.class, id);
+            if (names.isEmpty()) {
+                throw new IllegalStateException("Unknown category id " + id);
+            }
+            name = names.get(0);
+            remember(id, name);
+        }
+        return name;
+    }
+
+    /**
+     * Key of the category, adding it first when it does not exist. The row is inserted on the caller's connection, in
+     * its transaction if there is one, so a write that introduces a category never needs a second connection.
+     * A transaction that adds several categories can wait on another one adding the same names; writers of many rows
+     * call {@link #resolveAll} before they open theirs.
+     */
+    public int resolve(String name) {
+        Optional<Integer> existing = find(name);
+        if (existing.isPresent()) {
+            return existing.get();
+        }
+        try {
+            jdbcTemplate.update(isPostgreSql() ? INSERT_POSTGRESQL_SQL : INSERT_SQL, name);
+        } catch (DuplicateKeyException e) {
+            // H2 inserted it concurrently; the failed statement leaves the caller's transaction usable
+        }
+        return find(name).orElseThrow(() -> new IllegalStateException("Could not add category " + name));
+    }
+
+    /** Adds the categories that do not exist yet. Called outside a transaction, each insert commits on its own. */
+    public void resolveAll(Collection<String> names) {
+        names.stream().filter(Objects::nonNull).distinct().forEach(this::resolve);
+    }
+
+    // A key read inside a transaction may be one it added, which a rollback takes away again, so it is only kept once
+    // that transaction commits. Until then lookups from the same transaction read it from the table
+    private void remember(int id, String name) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    put(id, name);
+                }
+            });
+        } else {
+            put(id, name);
+        }
+    }
+
+    private void put(int id, String name) {
+        idsByName.put(name, id);
+        namesById.put(id, name);
+    }
+
+    private boolean isPostgreSql() {
+        if (databaseProductName == null) {
+            databaseProductName = jdbcTemplate.execute(
+                    (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        }
+        return "PostgreSQL".equals(databaseProductName);
+    }
+
+    private void load() {
+        if (!loaded) {
+            synchronized (this) {
+                if (!loaded) {
+                    // Nothing has been added through the dictionary before it loads, so every row is committed
+                    jdbcTemplate.query("SELECT id, name FROM category", rs -> {
+                        put(rs.getInt("id"), rs.getString("name"));
+                    });
+                    loaded = true;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.InventoryManager.InventoryManager.service;
+
+import com.InventoryManager.InventoryManager.config.CacheConfig;
+import com.InventoryManager.InventoryManager.dto.ProductChangeDTO.Type;
+import com.InventoryManager.InventoryManager.model.ProductModel;
+import com.InventoryManager.InventoryManager.repository.ProductRepository;
+import com.InventoryManager.InventoryManager.repository.ProductStockRepository.ZeroedStock;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Marks expired products out of stock. Expiration dates fall into one bucket per day. The sweeper remembers the
+ * day it has swept up to, so a run only reads the buckets that fell due since the previous run, not the whole table.
+ * The first run catches up on everything already expired.
+ */
+@Service
+public class ExpirationSweeper {
+    private final ProductRepository productRepository;
+    private final CategoryAggregateStore categoryAggregateStore;
+    private final CategoryDictionary categoryDictionary;
+    private final Cache productCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter sweptCounter;
+    private final boolean enabled;
+    private final int batchSize;
+
+    // Expiration dates before this day have been swept; null until the first run
+    private volatile LocalDate sweptBefore;
+    // Buckets behind sweptBefore that were written to afterwards, e.g. a product created already expired
+    private final Set<LocalDate> lateBuckets = ConcurrentHashMap.newKeySet();
+
+    public ExpirationSweeper(
+            ProductRepository productRepository,
+            CategoryAggregateStore categoryAggregateStore,
+            CategoryDictionary categoryDictionary,
+            CacheManager cacheManager,
+            ApplicationEventPublisher eventPublisher,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${inventory.expiry.sweep-enabled:true}") boolean enabled,
+            @Value("${inventory.expiry.sweep-batch-size:500}") int batchSize) {
+        this.productRepository = productRepository;
+        this.categoryAggregateStore = categoryAggregateStore;
+        this.categoryDictionary = categoryDictionary;
+        this.productCache = cacheManager.getCache(CacheConfig.PRODUCTS_CACHE);
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.sweptCounter = Counter.builder("inventory.expiry.swept")
+                .description("Expired products marked out of stock by the sweeper")
+                .register(meterRegistry);
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(initialDelayString = "${inventory.expiry.sweep-initial-delay:30s}",
+            fixedDelayString = "${inventory.expiry.sweep-interval:1h}")
+    public void sweepExpired() {
+        if (enabled) {
+            sweep(LocalDate.now());
+        }
+    }
+
+    /** Zeroes the stock of every product that expired before {@code today} and returns how many were changed. */
+    public synchronized int sweep(LocalDate today) {
+        LocalDate previous = sweptBefore;
+        if (previous != null && !previous.isBefore(today) && lateBuckets.isEmpty()) {
+            return 0;
+        }
+        // Advance first: a product written with a due date while this run is in progress is recorded as late
+        sweptBefore = previous == null || previous.isBefore(today) ? today : previous;
+        Set<LocalDate> late = new TreeSet<>();
+        int swept = 0;
+        try {
+            if (previous == null || previous.isBefore(today)) {
+                swept += sweepBucket(previous, today);
+            }
+            for (LocalDate day : Set.copyOf(lateBuckets)) {
+                lateBuckets.remove(day);
+                late.add(day);
+            }
+            for (LocalDate day : late) {
+                swept += sweepBucket(day, day.plusDays(1));
+            }
+        } catch (RuntimeException e) {
+            sweptBefore = previous;
+            lateBuckets.addAll(late);
+            throw e;
+        }
+        return swept;
+    }
+
+    /** Called after a product is written, so an in-stock product given an already swept expiration date is not missed. */
+    public void productWritten(ProductModel product) {
+        LocalDate swept = sweptBefore;
+        if (swept != null && product.getExpirationDate() != null && product.isInStock()
+                && product.getExpirationDate().isBefore(swept)) {
+            lateBuckets.add(product.getExpirationDate());
+        }
+    }
+
+    private int sweepBucket(LocalDate from, LocalDate to) {
+        int swept = 0;
+        List<ZeroedStock> batch;
+        do {
+            batch = Objects.requireNonNull(transactionTemplate.execute(
+                    status -> productRepository.zeroExpiredStock(from, to, batchSize)));
+            // Aggregates and the product cache only reflect committed data
+            for (ZeroedStock row : batch) {
+                categoryAggregateStore.adjustStock(categoryDictionary.nameOf(row.categoryId()), row.unitPriceCents(), row.stockQuantity(), 0);
+                productCache.evict(row.id());
+                eventPublisher.publishEvent(new ProductChangedEvent(Type.STOCK, row.id(), null));
+            }
+            sweptCounter.increment(batch.size());
+            swept += batch.size();
+        } while (batch.size() == batchSize);
+        return swept;
+    }
+}
@@ -0,0 +1,296 @@
+package com.InventoryManager.InventoryManager.service;
+
+import com.InventoryManager.InventoryManager.config.CacheConfig;
+import com.InventoryManager.InventoryManager.dto.BulkItemResultDTO;
+import com.InventoryManager.InventoryManager.dto.BulkProductOperationDTO;
+import com.InventoryManager.InventoryManager.dto.BulkProductOperationDTO.Action;
+import com.InventoryManager.InventoryManager.dto.BulkResultDTO;
+import com.InventoryManager.InventoryManager.dto.ProductChangeDTO.Type;
+import com.InventoryManager.InventoryManager.dto.ProductRequestDTO;
+import com.InventoryManager.InventoryManager.model.ProductModel;
+import com.InventoryManager.InventoryManager.repository.ProductRepository;
+import com.InventoryManager.InventoryManager.service.CategoryAggregateStore.Contribution;
+import io.micrometer.core.annotation.Timed;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Applies large batches of product changes in chunked transactions. Each chunk is written with JDBC batching;
+ * if a chunk fails to commit it is replayed item by item so a bad row only fails itself.
+ */
+@Service
+@Timed(value = "inventory.service", description = "Service method calls")
+public class ProductBulkService {
+    private final ProductRepository productRepository;
+    private final CategoryAggregateStore categoryAggregateStore;
+    private final ProductNameIndex productNameIndex;
+    private final ExpirationSweeper expirationSweeper;
+    private final CategoryDictionary categoryDictionary;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Cache productCache;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final int chunkSize;
+
+    private record IndexedOperation(int index, BulkProductOperationDTO operation) {
+    }
+
+    private record ChunkOutcome(
+            List<BulkItemResultDTO> results,
+            List<Contribution> removed,
+            List<Contribution> added,
+            List<ProductModel> written,
+            Set<Long> createdIds,
+            List<Long> deletedIds) {
+    }
+
+    public ProductBulkService(
+            ProductRepository productRepository,
+            CategoryAggregateStore categoryAggregateStore,
+            ProductNameIndex productNameIndex,
+            ExpirationSweeper expirationSweeper,
+            CategoryDictionary categoryDictionary,
+            ApplicationEventPublisher eventPublisher,
+            CacheManager cacheManager,
+            PlatformTransactionManager transactionManager,
+            Validator validator,
+            @Value("${inventory.bulk.chunk-size:500}") int chunkSize) {
+        this.productRepository = productRepository;
+        this.categoryAggregateStore = categoryAggregateStore;
+        this.productNameIndex = productNameIndex;
+        this.expirationSweeper = expirationSweeper;
+        this.categoryDictionary = categoryDictionary;
+        this.eventPublisher = eventPublisher;
+        this.productCache = cacheManager.getCache(CacheConfig.PRODUCTS_CACHE);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.validator = validator;
+        this.chunkSize = chunkSize;
+    }
+
+    public BulkResultDTO apply(Iterator<BulkProductOperationDTO> operations) {
+        List<BulkItemResultDTO> results = new ArrayList<>();
+        List<IndexedOperation> chunk = new ArrayList<>(chunkSize);
+        int index = 0;
+        while (true) {
+            BulkProductOperationDTO operation;
+            try {
+                if (!operations.hasNext()) {
+                    break;
+                }
+                operation = operations.next();
+            } catch (RuntimeException e) {
+                // The input itself is unreadable from here on: keep what was applied and report where it stopped
+                results.add(new BulkItemResultDTO(index, null, null, HttpStatus.BAD_REQUEST.value(),
+                        "Malformed input: " + NestedExceptionUtils.getMostSpecificCause(e).getMessage()));
+                break;
+            }
+            chunk.add(new IndexedOperation(index++, operation));
+            if (chunk.size() == chunkSize) {
+                results.addAll(applyChunk(chunk));
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            results.addAll(applyChunk(chunk));
+        }
+        results.sort(Comparator.comparingInt(BulkItemResultDTO::getIndex));
+
+        int succeeded = (int) results.stream().filter(result -> result.getStatus() < 400).count();
+        return new BulkResultDTO(results.size(), succeeded, results.size() - succeeded, results);
+    }
+
+    private List<BulkItemResultDTO> applyChunk(List<IndexedOperation> chunk) {
+        List<BulkItemResultDTO> results = new ArrayList<>(chunk.size());
+        List<IndexedOperation> valid = new ArrayList<>(chunk.size());
+        for (IndexedOperation item : chunk) {
+            String error = validate(item.operation());
+            if (error != null) {
+                results.add(failure(item, HttpStatus.BAD_REQUEST, error));
+            } else {
+                valid.add(item);
+            }
+        }
+
+        ChunkOutcome outcome;
+        try {
+            outcome = commit(valid);
+        } catch (RuntimeException chunkError) {
+            // The whole chunk rolled back; replay it one item per transaction to isolate the offending rows
+            for (IndexedOperation item : valid) {
+                ChunkOutcome single;
+                try {
+                    single = commit(List.of(item));
+                } catch (ConstraintViolationException e) {
+                    results.add(failure(item, HttpStatus.BAD_REQUEST, e.getMessage()));
+                    continue;
+                } catch (DataIntegrityViolationException e) {
+                    results.add(failure(item, HttpStatus.CONFLICT, e.getMostSpecificCause().getMessage()));
+                    continue;
+                } catch (OptimisticLockingFailureException e) {
+                    // Another write changed or removed the product since it was read, as a stale PATCH reports it
+                    results.add(failure(item, HttpStatus.CONFLICT, NestedExceptionUtils.getMostSpecificCause(e).getMessage()));
+                    continue;
+                } catch (RuntimeException e) {
+                    results.add(failure(item, HttpStatus.INTERNAL_SERVER_ERROR, NestedExceptionUtils.getMostSpecificCause(e).getMessage()));
+                    continue;
+                }
+                afterCommit(single);
+                results.addAll(single.results());
+            }
+            return results;
+        }
+        // Outside the try: a failure here is not a failed chunk, and replaying it would write committed items twice
+        afterCommit(outcome);
+        results.addAll(outcome.results());
+        return results;
+    }
+
+    private ChunkOutcome commit(List<IndexedOperation> items) {
+        // Categories the chunk introduces are added ahead of its transaction, which then only reads their keys
+        categoryDictionary.resolveAll(items.stream()
+                .map(item -> item.operation().getProduct())
+                .filter(Objects::nonNull)
+                .map(ProductRequestDTO::getCategory)
+                .toList());
+        return Objects.requireNonNull(transactionTemplate.execute(status -> write(items)));
+    }
+
+    // Aggregates, the name index and the product cache only reflect committed data
+    private void afterCommit(ChunkOutcome outcome) {
+        try {
+            outcome.removed().forEach(categoryAggregateStore::remove);
+            outcome.added().forEach(categoryAggregateStore::add);
+        } catch (RuntimeException e) {
+            // Part of the deltas may be applied; recount from the table, which holds the committed chunk
+            categoryAggregateStore.rebuild(productRepository.getCategoryAggregates());
+        }
+        outcome.written().forEach(product -> {
+            productNameIndex.put(product.getId(), product.getName());
+            expirationSweeper.productWritten(product);
+            productCache.evict(product.getId());
+            Type type = outcome.createdIds().contains(product.getId()) ? Type.CREATED : Type.UPDATED;
+            eventPublisher.publishEvent(ProductChangedEvent.of(type, ProductMapper.toProductResponseDTO(product)));
+        });
+        outcome.deletedIds().forEach(id -> {
+            productNameIndex.remove(id);
+            productCache.evict(id);
+            eventPublisher.publishEvent(new ProductChangedEvent(Type.DELETED, id, null));
+        });
+    }
+
+    private ChunkOutcome write(List<IndexedOperation> items) {
+        Set<Long> ids = items.stream()
+                .map(IndexedOperation::operation)
+                .filter(operation -> operation.getAction() != Action.CREATE)
+                .map(BulkProductOperationDTO::getId)
+                .collect(Collectors.toSet());
+        Map<Long, ProductModel> existing = new HashMap<>();
+        // Past the second-level cache, like the single-product writes, so each update starts from the stored version
+        productRepository.findAllUncachedById(ids).forEach(product -> existing.put(product.getId(), product));
+
+        List<BulkItemResultDTO> results = new ArrayList<>(items.size());
+        List<Contribution> removed = new ArrayList<>();
+        List<Contribution> added = new ArrayList<>();
+        List<ProductModel> written = new ArrayList<>();
+        Set<Long> createdIds = new HashSet<>();
+        List<Long> deletedIds = new ArrayList<>();
+        for (IndexedOperation item : items) {
+            BulkProductOperationDTO operation = item.operation();
+            switch (operation.getAction()) {
+                case CREATE -> {
+                    ProductModel created = productRepository.save(ProductMapper.toProductModel(operation.getProduct()));
+                    added.add(Contribution.of(created));
+                    written.add(created);
+                    createdIds.add(created.getId());
+                    results.add(success(item, created.getId(), HttpStatus.CREATED));
+                }
+                case UPDATE -> {
+                    ProductModel product = existing.get(operation.getId());
+                    if (product == null) {
+                        results.add(notFound(item));
+                        continue;
+                    }
+                    removed.add(Contribution.of(product));
+                    ProductMapper.applyRequest(product, operation.getProduct());
+                    added.add(Contribution.of(product));
+                    written.add(product);
+                    results.add(success(item, product.getId(), HttpStatus.OK));
+                }
+                case DELETE -> {
+                    ProductModel product = existing.remove(operation.getId());
+                    if (product == null) {
+                        results.add(notFound(item));
+                        continue;
+                    }
+                    productRepository.delete(product);
+                    removed.add(Contribution.of(product));
+                    deletedIds.add(product.getId());
+                    results.add(success(item, product.getId(), HttpStatus.NO_CONTENT));
+                }
+            }
+        }
+        productRepository.flush();
+        return new ChunkOutcome(results, removed, added, written, createdIds, deletedIds);
+    }
+
+    private String validate(BulkProductOperationDTO operation) {
+        if (operation == null || operation.getAction() == null) {
+            return "Action is required";
+        }
+        if (operation.getAction() != Action.CREATE && operation.getId() == null) {
+            return "Id is required for " + operation.getAction();
+        }
+        if (operation.getAction() == Action.DELETE) {
+            return null;
+        }
+        if (operation.getProduct() == null) {
+            return "Product is required for " + operation.getAction();
+        }
+        Set<ConstraintViolation<ProductModel>> violations = validator.validate(ProductMapper.toProductModel(operation.getProduct()));
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    private static BulkItemResultDTO success(IndexedOperation item, Long id, HttpStatus status) {
+        return new BulkItemResultDTO(item.index(), item.operation().getAction(), id, status.value(), null);
+    }
+
+    private static BulkItemResultDTO notFound(IndexedOperation item) {
+        return failure(item, HttpStatus.NOT_FOUND, "Product not found with id: " + item.operation().getId());
+    }
+
+    private static BulkItemResultDTO failure(IndexedOperation item, HttpStatus status, String message) {
+        BulkProductOperationDTO operation = item.operation();
+        return new BulkItemResultDTO(item.index(),
+                operation == null ? null : operation.getAction(),
+                operation == null ? null : operation.getId(),
+                status.value(), message);
+    }
+}
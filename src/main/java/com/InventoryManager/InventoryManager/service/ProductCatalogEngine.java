@@ -0,0 +1,643 @@
+package com.InventoryManager.InventoryManager.service;
+
+import com.InventoryManager.InventoryManager.dto.ProductChangeDTO.Type;
+import com.InventoryManager.InventoryManager.dto.ProductFilterDTO;
+import com.InventoryManager.InventoryManager.dto.ProductResponseDTO;
+import com.InventoryManager.InventoryManager.model.Money;
+import com.InventoryManager.InventoryManager.repository.ProductRepository;
+import jakarta.annotation.PreDestroy;
+import org.roaringbitmap.IntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Optional in-memory copy of the catalog that answers the listing filters without the database. Products are rows of
+ * primitive column arrays; categories and in-stock products are compressed bitmaps of rows, so a filter is a few
+ * bitmap operations and its count a cardinality. Sorted pages walk a permutation of the rows pre-sorted by the
+ * column, or sort the matches when they are few. Off unless {@code inventory.catalog-engine.enabled} is set.
+ * <p>
+ * Names are compared as Java strings and matched ignoring case character by character, which is what H2 does. Other
+ * databases order and lower-case by their collation, so on them the engine does not load and every listing goes to the
+ * database.
+ * <p>
+ * Loaded when the application is ready and kept in sync from the product change events. Every event carries the
+ * product's version, so events applied out of order, or racing the initial load, never roll a row back.
+ */
+@Component
+public class ProductCatalogEngine {
+    private static final int NO_DATE = Integer.MIN_VALUE;
+    private static final long DELETED = Long.MAX_VALUE;
+    private static final int INITIAL_CAPACITY = 1024;
+    // Matches of at most this fraction of the catalog are sorted directly instead of walking a permutation
+    private static final int SORT_MATCHES_DIVISOR = 16;
+    // A permutation is rebuilt once this many rows (or 1/64 of the catalog) changed their sort key since it was built
+    private static final int MIN_DIRTY_ROWS_BEFORE_REBUILD = 1024;
+
+    /** Sortable columns, the same properties cursor pages sort by. Ties are broken by id. */
+    enum Column {
+        ID("id"), NAME("name"), CATEGORY("category"), UNIT_PRICE("unitPrice"), STOCK_QUANTITY("stockQuantity");
+
+        private final String property;
+
+        Column(String property) {
+            this.property = property;
+        }
+
+        static Optional<Column> of(String property) {
+            return Arrays.stream(values()).filter(column -> column.property.equals(property)).findFirst();
+        }
+    }
+
+    @FunctionalInterface
+    interface RowComparator {
+        int compare(int a, int b);
+    }
+
+    // The columns a row order reads; either the live arrays or copies taken for a rebuild
+    private record SortKeys(long[] ids, String[] names, int[] categories, String[] categoryNames, long[] unitPrices,
+                            int[] stock) {
+        RowComparator comparator(Column column) {
+            RowComparator byId = (a, b) -> Long.compare(ids[a], ids[b]);
+            RowComparator byKey = switch (column) {
+                case ID -> (a, b) -> 0;
+                case NAME -> (a, b) -> names[a].compareTo(names[b]);
+                case CATEGORY -> (a, b) -> categoryNames[categories[a]].compareTo(categoryNames[categories[b]]);
+                case UNIT_PRICE -> (a, b) -> Long.compare(unitPrices[a], unitPrices[b]);
+                case STOCK_QUANTITY -> (a, b) -> Integer.compare(stock[a], stock[b]);
+            };
+            return (a, b) -> {
+                int order = byKey.compare(a, b);
+                return order != 0 ? order : byId.compare(a, b);
+            };
+        }
+    }
+
+    private record SortOrder(Column column, boolean ascending) {
+    }
+
+    private final boolean enabled;
+    private final ProductRepository productRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final CategoryDictionary categoryDictionary;
+    private final ProductNameIndex productNameIndex;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ExecutorService sorter = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().name("catalog-engine-sort").daemon().factory());
+    private final AtomicBoolean rebuildScheduled = new AtomicBoolean();
+    private volatile boolean ready;
+
+    // Columns, indexed by row; rows are never reused, a deleted product keeps its row as a tombstone
+    private int size;
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private long[] versions = new long[INITIAL_CAPACITY];
+    private String[] names = new String[INITIAL_CAPACITY];
+    private int[] categories = new int[INITIAL_CAPACITY];
+    private long[] unitPrices = new long[INITIAL_CAPACITY];
+    private int[] expirationDates = new int[INITIAL_CAPACITY];
+    private int[] stock = new int[INITIAL_CAPACITY];
+    private int[] creationDates = new int[INITIAL_CAPACITY];
+    private int[] updateDates = new int[INITIAL_CAPACITY];
+    private final LongIntMap rowsById = new LongIntMap();
+    private String[] categoryNames = new String[16];
+
+    private final RoaringBitmap live = new RoaringBitmap();
+    private final RoaringBitmap inStock = new RoaringBitmap();
+    private RoaringBitmap[] categoryRows = new RoaringBitmap[16];
+
+    // Per column: rows sorted ascending by (key, id), and the rows whose key changed or that were added since
+    private final int[][] permutations = new int[Column.values().length][0];
+    private final RoaringBitmap[] dirty = new RoaringBitmap[Column.values().length];
+    // Rows changed while a rebuild sorts its copy of the keys; they stay dirty once the rebuild is installed
+    private final RoaringBitmap[] changedDuringRebuild = new RoaringBitmap[Column.values().length];
+
+    public ProductCatalogEngine(
+            @Value("${inventory.catalog-engine.enabled:false}") boolean enabled,
+            ProductRepository productRepository,
+            JdbcTemplate jdbcTemplate,
+            CategoryDictionary categoryDictionary,
+            ProductNameIndex productNameIndex) {
+        this.enabled = enabled;
+        this.productRepository = productRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.categoryDictionary = categoryDictionary;
+        this.productNameIndex = productNameIndex;
+        Arrays.setAll(dirty, column -> new RoaringBitmap());
+    }
+
+    @PreDestroy
+    void stop() {
+        sorter.shutdownNow();
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        if (!enabled || !comparesLikeJava()) {
+            return;
+        }
+        // Rows are added one lock at a time, so change events keep flowing while the catalog streams in
+        try (Stream<ProductResponseDTO> products = productRepository.streamResponses()) {
+            products.forEach(product -> put(product, categoryDictionary.find(product.getCategory()).orElseThrow()));
+        }
+        for (Column column : Column.values()) {
+            rebuild(column);
+        }
+        ready = true;
+    }
+
+    // Ahead of the catalog versions, so a list page tagged with a version always reflects that version's changes
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        if (event.type() == Type.DELETED) {
+            delete(event.productId());
+            return;
+        }
+        // Writes that do not carry the product, e.g. the expiration sweep, are read back; the version orders them
+        Optional<ProductResponseDTO> product = event.product() != null
+                ? Optional.of(event.product())
+                : productRepository.findResponseById(event.productId());
+        product.ifPresent(p -> put(p, categoryDictionary.find(p.getCategory()).orElseThrow()));
+    }
+
+    // Only H2 sorts and lower-cases names the way String does; a collation-aware database would page differently
+    private boolean comparesLikeJava() {
+        String databaseProductName = jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        return "H2".equals(databaseProductName);
+    }
+
+    /**
+     * The page {@code getAllProducts} would return for {@code filter}, ordered by the single sort property (or id when
+     * unsorted) with ties broken by id in the same direction. Empty when the engine cannot answer exactly like the
+     * database: not loaded yet, LIKE wildcards in the name, or an unsupported sort.
+     */
+    public Optional<Page<ProductResponseDTO>> find(ProductFilterDTO filter, Pageable pageable) {
+        if (!enabled || !ready || pageable.isUnpaged()) {
+            return Optional.empty();
+        }
+        Optional<SortOrder> order = sortOrder(pageable.getSort());
+        String name = filter.getName();
+        if (order.isEmpty() || name != null && (name.indexOf('%') >= 0 || name.indexOf('_') >= 0)) {
+            return Optional.empty();
+        }
+        // Lookups that may reach the database happen before the lock
+        Optional<Set<Long>> nameIds = name == null ? Optional.empty() : productNameIndex.matchingIds(name);
+        List<Integer> categoryIds = filter.getCategory() == null ? null : filter.getCategory().stream()
+                .flatMap(category -> categoryDictionary.find(category).stream())
+                .toList();
+        LocalDate today = LocalDate.now();
+
+        lock.readLock().lock();
+        try {
+            RoaringBitmap matches = matches(filter, categoryIds, nameIds, today);
+            int total = matches.getCardinality();
+            long offset = pageable.getOffset();
+            int count = offset >= total ? 0 : (int) Math.min(pageable.getPageSize(), total - offset);
+            int[] rows = count == 0 ? new int[0] : pageRows(matches, total, order.get(), (int) offset, count);
+            List<ProductResponseDTO> content = new ArrayList<>(rows.length);
+            for (int row : rows) {
+                content.add(toResponse(row));
+            }
+            return Optional.of(new PageImpl<>(content, pageable, total));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // A single property, optionally followed by id in the same direction, which is the tiebreak anyway
+    private static Optional<SortOrder> sortOrder(Sort sort) {
+        List<Sort.Order> orders = sort.toList();
+        if (orders.isEmpty()) {
+            return Optional.of(new SortOrder(Column.ID, true));
+        }
+        Sort.Order first = orders.get(0);
+        if (orders.size() > 2 || first.isIgnoreCase() || first.getNullHandling() != Sort.NullHandling.NATIVE) {
+            return Optional.empty();
+        }
+        if (orders.size() == 2 && !(Column.ID.property.equals(orders.get(1).getProperty())
+                && orders.get(1).getDirection() == first.getDirection())) {
+            return Optional.empty();
+        }
+        return Column.of(first.getProperty()).map(column -> new SortOrder(column, first.isAscending()));
+    }
+
+    private RoaringBitmap matches(ProductFilterDTO filter, List<Integer> categoryIds, Optional<Set<Long>> nameIds,
+                                  LocalDate today) {
+        RoaringBitmap result = live.clone();
+        if (categoryIds != null) {
+            RoaringBitmap inCategories = new RoaringBitmap();
+            for (int categoryId : categoryIds) {
+                if (categoryId < categoryRows.length && categoryRows[categoryId] != null) {
+                    inCategories.or(categoryRows[categoryId]);
+                }
+            }
+            result.and(inCategories);
+        }
+        if (filter.getInStock() != null) {
+            if (filter.getInStock()) {
+                result.and(inStock);
+            } else {
+                result.andNot(inStock);
+            }
+        }
+        if (nameIds.isPresent()) {
+            RoaringBitmap named = new RoaringBitmap();
+            for (long id : nameIds.get()) {
+                int row = rowsById.get(id);
+                if (row >= 0) {
+                    named.add(row);
+                }
+            }
+            result.and(named);
+        }
+        String name = nameIds.isEmpty() ? filter.getName() : null;
+        int from = filter.getExpiringFrom() == null ? Integer.MIN_VALUE : epochDay(filter.getExpiringFrom());
+        int to = filter.getExpiringTo() == null ? Integer.MAX_VALUE : epochDay(filter.getExpiringTo());
+        boolean expiring = filter.getExpiringFrom() != null || filter.getExpiringTo() != null;
+        Boolean expired = filter.getExpired();
+        if (name == null && !expiring && expired == null) {
+            return result;
+        }
+        // The remaining filters look at the column of every candidate row
+        int todayDay = epochDay(today);
+        RoaringBitmap kept = new RoaringBitmap();
+        IntIterator candidates = result.getIntIterator();
+        while (candidates.hasNext()) {
+            int row = candidates.next();
+            int expiration = expirationDates[row];
+            if (name != null && !containsIgnoreCase(names[row], name)
+                    || expiring && (expiration == NO_DATE || expiration < from || expiration > to)
+                    || expired != null && expired != (expiration != NO_DATE && expiration < todayDay)) {
+                continue;
+            }
+            kept.add(row);
+        }
+        return kept;
+    }
+
+    // Same as H2's LOWER(name) LIKE '%needle%' without lower-casing every name
+    private static boolean containsIgnoreCase(String name, String needle) {
+        for (int i = 0; i + needle.length() <= name.length(); i++) {
+            if (name.regionMatches(true, i, needle, 0, needle.length())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int[] pageRows(RoaringBitmap matches, int total, SortOrder order, int offset, int count) {
+        Column column = order.column();
+        RowComparator comparator = liveKeys().comparator(column);
+        int[] page = new int[count];
+        if (total <= size / SORT_MATCHES_DIVISOR) {
+            int[] rows = matches.toArray();
+            sort(rows, comparator);
+            for (int i = 0; i < count; i++) {
+                page[i] = rows[order.ascending() ? offset + i : total - 1 - offset - i];
+            }
+            return page;
+        }
+        // Walk the permutation, which holds every row in order except the dirty ones; those are few and are
+        // sorted here and merged in
+        int[] permutation = permutations[column.ordinal()];
+        RoaringBitmap stale = dirty[column.ordinal()];
+        int[] changed = RoaringBitmap.and(matches, stale).toArray();
+        sort(changed, comparator);
+        int direction = order.ascending() ? 1 : -1;
+        int p = order.ascending() ? 0 : permutation.length - 1;
+        int c = order.ascending() ? 0 : changed.length - 1;
+        int seen = 0;
+        int filled = 0;
+        while (filled < count) {
+            while (p >= 0 && p < permutation.length
+                    && (!matches.contains(permutation[p]) || stale.contains(permutation[p]))) {
+                p += direction;
+            }
+            boolean fromPermutation = p >= 0 && p < permutation.length;
+            boolean fromChanged = c >= 0 && c < changed.length;
+            if (!fromPermutation && !fromChanged) {
+                break;
+            }
+            int row;
+            if (fromPermutation && (!fromChanged
+                    || direction * comparator.compare(permutation[p], changed[c]) < 0)) {
+                row = permutation[p];
+                p += direction;
+            } else {
+                row = changed[c];
+                c += direction;
+            }
+            if (seen++ >= offset) {
+                page[filled++] = row;
+            }
+        }
+        return page;
+    }
+
+    private ProductResponseDTO toResponse(int row) {
+        return new ProductResponseDTO(ids[row], names[row], categoryNames[categories[row]],
+                Money.fromCents(unitPrices[row]), date(expirationDates[row]), stock[row], date(creationDates[row]),
+                date(updateDates[row]), stock[row] > 0, versions[row]);
+    }
+
+    private void put(ProductResponseDTO product, int categoryId) {
+        lock.writeLock().lock();
+        try {
+            int row = rowsById.get(product.getId());
+            boolean added = row < 0;
+            if (added) {
+                row = addRow(product.getId());
+            } else if (versions[row] == DELETED
+                    || product.getVersion() != null && product.getVersion() < versions[row]) {
+                return;
+            }
+            String name = product.getName();
+            long unitPrice = Money.toCents(product.getUnitPrice());
+            int quantity = product.getStockQuantity();
+            if (added || !names[row].equals(name)) {
+                changed(Column.NAME, row);
+            }
+            if (added || categories[row] != categoryId) {
+                changed(Column.CATEGORY, row);
+                if (!added) {
+                    categoryRows[categories[row]].remove(row);
+                }
+                categoryRows(categoryId, product.getCategory()).add(row);
+            }
+            if (added || unitPrices[row] != unitPrice) {
+                changed(Column.UNIT_PRICE, row);
+            }
+            if (added || stock[row] != quantity) {
+                changed(Column.STOCK_QUANTITY, row);
+            }
+            if (added) {
+                changed(Column.ID, row);
+            }
+            versions[row] = product.getVersion() == null ? 0 : product.getVersion();
+            names[row] = name;
+            categories[row] = categoryId;
+            unitPrices[row] = unitPrice;
+            expirationDates[row] = epochDay(product.getExpirationDate());
+            stock[row] = quantity;
+            creationDates[row] = epochDay(product.getCreationDate());
+            updateDates[row] = epochDay(product.getUpdateDate());
+            live.add(row);
+            if (quantity > 0) {
+                inStock.add(row);
+            } else {
+                inStock.remove(row);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void delete(Long id) {
+        lock.writeLock().lock();
+        try {
+            int row = rowsById.get(id);
+            if (row < 0) {
+                // A tombstone, so an older change to this product arriving late cannot bring it back
+                versions[addRow(id)] = DELETED;
+                return;
+            }
+            if (live.contains(row)) {
+                live.remove(row);
+                inStock.remove(row);
+                categoryRows[categories[row]].remove(row);
+            }
+            versions[row] = DELETED;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private int addRow(long id) {
+        if (size == ids.length) {
+            int capacity = size * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            versions = Arrays.copyOf(versions, capacity);
+            names = Arrays.copyOf(names, capacity);
+            categories = Arrays.copyOf(categories, capacity);
+            unitPrices = Arrays.copyOf(unitPrices, capacity);
+            expirationDates = Arrays.copyOf(expirationDates, capacity);
+            stock = Arrays.copyOf(stock, capacity);
+            creationDates = Arrays.copyOf(creationDates, capacity);
+            updateDates = Arrays.copyOf(updateDates, capacity);
+        }
+        int row = size++;
+        ids[row] = id;
+        names[row] = "";
+        rowsById.put(id, row);
+        return row;
+    }
+
+    private RoaringBitmap categoryRows(int categoryId, String categoryName) {
+        if (categoryId >= categoryRows.length) {
+            int capacity = Math.max(categoryId + 1, categoryRows.length * 2);
+            categoryRows = Arrays.copyOf(categoryRows, capacity);
+            categoryNames = Arrays.copyOf(categoryNames, capacity);
+        }
+        if (categoryRows[categoryId] == null) {
+            categoryRows[categoryId] = new RoaringBitmap();
+            categoryNames[categoryId] = categoryName;
+        }
+        return categoryRows[categoryId];
+    }
+
+    private void changed(Column column, int row) {
+        RoaringBitmap rows = dirty[column.ordinal()];
+        rows.add(row);
+        if (changedDuringRebuild[column.ordinal()] != null) {
+            changedDuringRebuild[column.ordinal()].add(row);
+        }
+        if (ready && rows.getCardinality() > Math.max(MIN_DIRTY_ROWS_BEFORE_REBUILD, size / 64)
+                && rebuildScheduled.compareAndSet(false, true)) {
+            sorter.execute(() -> {
+                try {
+                    for (Column each : Column.values()) {
+                        rebuild(each);
+                    }
+                } finally {
+                    rebuildScheduled.set(false);
+                }
+            });
+        }
+    }
+
+    private SortKeys liveKeys() {
+        return new SortKeys(ids, names, categories, categoryNames, unitPrices, stock);
+    }
+
+    /** Sorts a copy of the column's keys without holding the lock, then swaps the permutation in. */
+    private void rebuild(Column column) {
+        int index = column.ordinal();
+        SortKeys keys;
+        int rows;
+        lock.writeLock().lock();
+        try {
+            if (ready && dirty[index].getCardinality() <= Math.max(MIN_DIRTY_ROWS_BEFORE_REBUILD, size / 64)) {
+                return;
+            }
+            rows = size;
+            keys = new SortKeys(
+                    Arrays.copyOf(ids, rows),
+                    column == Column.NAME ? Arrays.copyOf(names, rows) : null,
+                    column == Column.CATEGORY ? Arrays.copyOf(categories, rows) : null,
+                    column == Column.CATEGORY ? categoryNames.clone() : null,
+                    column == Column.UNIT_PRICE ? Arrays.copyOf(unitPrices, rows) : null,
+                    column == Column.STOCK_QUANTITY ? Arrays.copyOf(stock, rows) : null);
+            changedDuringRebuild[index] = new RoaringBitmap();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        int[] permutation = new int[rows];
+        Arrays.setAll(permutation, row -> row);
+        sort(permutation, keys.comparator(column));
+        lock.writeLock().lock();
+        try {
+            permutations[index] = permutation;
+            // Rows added or changed while sorting are still out of place
+            RoaringBitmap stillDirty = changedDuringRebuild[index];
+            stillDirty.add((long) rows, (long) Math.max(rows, size));
+            dirty[index] = stillDirty;
+            changedDuringRebuild[index] = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Stable merge sort of row numbers, without boxing them. */
+    static void sort(int[] rows, RowComparator comparator) {
+        mergeSort(rows.clone(), rows, 0, rows.length, comparator);
+    }
+
+    // Sorts src[from, to) into dst[from, to); both hold the same rows in that range on entry
+    private static void mergeSort(int[] src, int[] dst, int from, int to, RowComparator comparator) {
+        if (to - from < 16) {
+            for (int i = from + 1; i < to; i++) {
+                int row = dst[i];
+                int j = i - 1;
+                while (j >= from && comparator.compare(dst[j], row) > 0) {
+                    dst[j + 1] = dst[j];
+                    j--;
+                }
+                dst[j + 1] = row;
+            }
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        mergeSort(dst, src, from, mid, comparator);
+        mergeSort(dst, src, mid, to, comparator);
+        if (comparator.compare(src[mid - 1], src[mid]) <= 0) {
+            System.arraycopy(src, from, dst, from, to - from);
+            return;
+        }
+        for (int i = from, p = from, q = mid; i < to; i++) {
+            if (q >= to || p < mid && comparator.compare(src[p], src[q]) <= 0) {
+                dst[i] = src[p++];
+            } else {
+                dst[i] = src[q++];
+            }
+        }
+    }
+
+    private static int epochDay(LocalDate date) {
+        return date == null ? NO_DATE : Math.toIntExact(date.toEpochDay());
+    }
+
+    private static LocalDate date(int epochDay) {
+        return epochDay == NO_DATE ? null : LocalDate.ofEpochDay(epochDay);
+    }
+
+    /** Open-addressing map from product id to row, without boxing either. */
+    private static final class LongIntMap {
+        private static final long EMPTY = Long.MIN_VALUE;
+
+        private long[] keys = new long[INITIAL_CAPACITY * 2];
+        private int[] values = new int[INITIAL_CAPACITY * 2];
+        private int count;
+
+        LongIntMap() {
+            Arrays.fill(keys, EMPTY);
+        }
+
+        int get(long key) {
+            int mask = keys.length - 1;
+            for (int slot = hash(key) & mask; keys[slot] != EMPTY; slot = (slot + 1) & mask) {
+                if (keys[slot] == key) {
+                    return values[slot];
+                }
+            }
+            return -1;
+        }
+
+        void put(long key, int value) {
+            if (2 * (count + 1) > keys.length) {
+                resize();
+            }
+            int mask = keys.length - 1;
+            int slot = hash(key) & mask;
+            while (keys[slot] != EMPTY && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            if (keys[slot] == EMPTY) {
+                count++;
+            }
+            keys[slot] = key;
+            values[slot] = value;
+        }
+
+        private void resize() {
+            long[] oldKeys = keys;
+            int[] oldValues = values;
+            keys = new long[oldKeys.length * 2];
+            values = new int[oldValues.length * 2];
+            Arrays.fill(keys, EMPTY);
+            count = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != EMPTY) {
+                    put(oldKeys[i], oldValues[i]);
+                }
+            }
+        }
+
+        private static int hash(long key) {
+            long h = key * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32));
+        }
+    }
+}
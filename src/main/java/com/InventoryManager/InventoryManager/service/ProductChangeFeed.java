@@ -0,0 +1,176 @@
+package com.InventoryManager.InventoryManager.service;
+
+import com.InventoryManager.InventoryManager.dto.ProductChangeDTO;
+import com.InventoryManager.InventoryManager.dto.ProductChangesDTO;
+import com.InventoryManager.InventoryManager.dto.ProductException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Ring buffer of the most recent product changes, numbered by a sequence that starts at 1 on every startup.
+ * Writers only append, in O(1) and only after commit. Each reader keeps its own position and reads at its own pace.
+ * A reader that falls further behind than the buffer holds gets a reset instead of holding writers back.
+ */
+@Component
+public class ProductChangeFeed {
+    private static final int SSE_BATCH_SIZE = 100;
+    private static final int MAX_POLL_SECONDS = 60;
+    private static final int MAX_POLL_CHANGES = 1000;
+
+    private final ProductChangeDTO[] ring;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition appended = lock.newCondition();
+    private final AtomicInteger subscribers = new AtomicInteger();
+    private final Duration heartbeat;
+    private final Duration sseTimeout;
+    // Guarded by lock
+    private long nextSequence = 1;
+
+    public ProductChangeFeed(
+            MeterRegistry meterRegistry,
+            @Value("${inventory.changes.buffer-size:10000}") int bufferSize,
+            @Value("${inventory.changes.heartbeat:15s}") Duration heartbeat,
+            @Value("${inventory.changes.sse-timeout:30m}") Duration sseTimeout) {
+        this.ring = new ProductChangeDTO[bufferSize];
+        this.heartbeat = heartbeat;
+        this.sseTimeout = sseTimeout;
+        Gauge.builder("inventory.changes.subscribers", subscribers, AtomicInteger::get)
+                .description("Open change feed streams")
+                .register(meterRegistry);
+        Gauge.builder("inventory.changes.sequence", this, ProductChangeFeed::latestSequence)
+                .description("Sequence number of the latest product change")
+                .register(meterRegistry);
+    }
+
+    // Runs after the surrounding transaction commits, or straight away when the write was not part of one
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        lock.lock();
+        try {
+            long sequence = nextSequence++;
+            ring[(int) (sequence % ring.length)] = new ProductChangeDTO(
+                    sequence, event.type(), event.productId(), event.product(), Instant.now());
+            appended.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long latestSequence() {
+        lock.lock();
+        try {
+            return nextSequence - 1;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Long-poll: changes after {@code since}, or after the latest one when absent, waiting up to {@code timeoutSeconds}. */
+    public ProductChangesDTO poll(Long since, int timeoutSeconds, int limit) {
+        if (timeoutSeconds < 0 || timeoutSeconds > MAX_POLL_SECONDS) {
+            throw new ProductException("Timeout must be between 0 and " + MAX_POLL_SECONDS + " seconds", HttpStatus.BAD_REQUEST);
+        }
+        if (limit < 1 || limit > MAX_POLL_CHANGES) {
+            throw new ProductException("Limit must be between 1 and " + MAX_POLL_CHANGES, HttpStatus.BAD_REQUEST);
+        }
+        long position = since != null ? since : latestSequence();
+        try {
+            return await(position, limit, Duration.ofSeconds(timeoutSeconds));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ProductException("Interrupted while waiting for changes", HttpStatus.SERVICE_UNAVAILABLE);
+        }
+    }
+
+    /** Up to {@code limit} changes after sequence {@code since}, waiting at most {@code timeout} for the first one. */
+    public ProductChangesDTO await(long since, int limit, Duration timeout) throws InterruptedException {
+        long remaining = timeout.toNanos();
+        lock.lock();
+        try {
+            while (since == nextSequence - 1 && remaining > 0) {
+                remaining = appended.awaitNanos(remaining);
+            }
+            return read(since, limit);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Caller holds the lock
+    private ProductChangesDTO read(long since, int limit) {
+        long latest = nextSequence - 1;
+        long oldest = Math.max(1, nextSequence - ring.length);
+        boolean reset = since > latest || since < oldest - 1;
+        long from = reset ? oldest : since + 1;
+        List<ProductChangeDTO> changes = new ArrayList<>();
+        for (long sequence = from; sequence <= latest && changes.size() < limit; sequence++) {
+            changes.add(ring[(int) (sequence % ring.length)]);
+        }
+        long lastSequence = changes.isEmpty() ? (reset ? latest : since) : changes.get(changes.size() - 1).getSequence();
+        return new ProductChangesDTO(changes, lastSequence, reset);
+    }
+
+    /**
+     * Streams every change after {@code since} as server-sent events with the sequence as event id, so a
+     * reconnecting EventSource resumes through Last-Event-ID. Each stream is pumped by its own virtual thread.
+     */
+    public SseEmitter subscribe(long since) {
+        SseEmitter emitter = new SseEmitter(sseTimeout.toMillis());
+        AtomicBoolean open = new AtomicBoolean(true);
+        Thread pump = Thread.ofVirtual().name("change-feed").unstarted(() -> pump(emitter, since, open));
+        Runnable close = () -> {
+            open.set(false);
+            pump.interrupt();
+        };
+        emitter.onCompletion(close);
+        emitter.onTimeout(close);
+        emitter.onError(error -> close.run());
+        pump.start();
+        return emitter;
+    }
+
+    private void pump(SseEmitter emitter, long since, AtomicBoolean open) {
+        subscribers.incrementAndGet();
+        try {
+            long position = since;
+            while (open.get()) {
+                ProductChangesDTO batch = await(position, SSE_BATCH_SIZE, heartbeat);
+                if (batch.isReset()) {
+                    emitter.send(SseEmitter.event().name("reset").data(batch.getLastSequence()));
+                }
+                if (batch.getChanges().isEmpty()) {
+                    // Keeps proxies from closing an idle stream and surfaces a vanished client as a failed write
+                    emitter.send(SseEmitter.event().comment("heartbeat"));
+                }
+                for (ProductChangeDTO change : batch.getChanges()) {
+                    emitter.send(SseEmitter.event()
+                            .id(Long.toString(change.getSequence()))
+                            .name(change.getType().name())
+                            .data(change, MediaType.APPLICATION_JSON));
+                }
+                position = batch.getLastSequence();
+            }
+        } catch (IOException | IllegalStateException e) {
+            // The client went away or the emitter already completed; the container reports the failed write itself
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            subscribers.decrementAndGet();
+        }
+    }
+}
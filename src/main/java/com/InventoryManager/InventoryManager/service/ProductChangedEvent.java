@@ -0,0 +1,12 @@
+package com.InventoryManager.InventoryManager.service;
+
+import com.InventoryManager.InventoryManager.dto.ProductChangeDTO;
+import com.InventoryManager.InventoryManager.dto.ProductResponseDTO;
+
+/** Published by every product write; {@link ProductChangeFeed} records it once the write has committed. */
+public record ProductChangedEvent(ProductChangeDTO.Type type, Long productId, ProductResponseDTO product) {
+
+    public static ProductChangedEvent of(ProductChangeDTO.Type type, ProductResponseDTO product) {
+        return new ProductChangedEvent(type, product.getId(), product);
+    }
+}
@@ -0,0 +1,73 @@
+package com.InventoryManager.InventoryManager.service;
+
+import com.InventoryManager.InventoryManager.dto.ProductException;
+import com.InventoryManager.InventoryManager.dto.ProductResponseDTO;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Opaque continuation token for keyset pagination: the sort key and id of the last row a client has seen.
+ * Encoded as URL-safe Base64 so clients treat it as an opaque string.
+ */
+public record ProductCursor(String property, Sort.Direction direction, Comparable<?> value, Long id) {
+
+    private static final String ID = "id";
+
+    private static final Map<String, Function<String, Comparable<?>>> SORTABLE_PROPERTIES = Map.of(
+            ID, raw -> null,
+            "name", raw -> raw,
+            "category", raw -> raw,
+            "unitPrice", BigDecimal::new,
+            "stockQuantity", Integer::valueOf);
+
+    public static void checkSortable(String property) {
+        if (!SORTABLE_PROPERTIES.containsKey(property)) {
+            throw new ProductException("Cannot page by cursor on property: " + property
+                    + ". Supported properties are " + SORTABLE_PROPERTIES.keySet(), HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    public static ProductCursor after(ProductResponseDTO last, String property, Sort.Direction direction) {
+        Comparable<?> value = switch (property) {
+            case "name" -> last.getName();
+            case "category" -> last.getCategory();
+            case "unitPrice" -> last.getUnitPrice();
+            case "stockQuantity" -> last.getStockQuantity();
+            default -> null;
+        };
+        return new ProductCursor(property, direction, value, last.getId());
+    }
+
+    /** Keyset order: the sort property with id as the tie-breaker, both in the same direction. */
+    public static Sort sortBy(String property, Sort.Direction direction) {
+        Sort byId = Sort.by(direction, ID);
+        return ID.equals(property) ? byId : Sort.by(direction, property).and(byId);
+    }
+
+    public String encode() {
+        String valuePart = value == null ? "" : value instanceof BigDecimal decimal ? decimal.toPlainString() : value.toString();
+        String raw = property + ":" + direction.name() + ":" + id + ":" + valuePart;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ProductCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split(":", 4);
+            String property = parts[0];
+            if (!SORTABLE_PROPERTIES.containsKey(property)) {
+                throw new IllegalArgumentException("Unsupported cursor property: " + property);
+            }
+            Sort.Direction direction = Sort.Direction.valueOf(parts[1]);
+            Long id = Long.valueOf(parts[2]);
+            return new ProductCursor(property, direction, SORTABLE_PROPERTIES.get(property).apply(parts[3]), id);
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            throw new ProductException("Invalid cursor: " + token, HttpStatus.BAD_REQUEST);
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.InventoryManager.InventoryManager.service;
+
+import com.InventoryManager.InventoryManager.config.ReplicaRead;
+import com.InventoryManager.InventoryManager.dto.ProductException;
+import com.InventoryManager.InventoryManager.dto.ProductFilterDTO;
+import com.InventoryManager.InventoryManager.dto.ProductResponseDTO;
+import com.InventoryManager.InventoryManager.model.ProductModel;
+import com.InventoryManager.InventoryManager.repository.ProductSpecifications;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.CacheRetrieveMode;
+import jakarta.persistence.CacheStoreMode;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.jpa.SpecHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+/**
+ * Streams every product matching the listing filters straight to an output stream. Rows are read through a
+ * forward-only cursor with a JDBC fetch size and detached once written, so memory use does not grow with the catalog.
+ */
+@Service
+@Timed(value = "inventory.service", description = "Service method calls")
+public class ProductExportService {
+
+    public enum ExportFormat {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+
+        private final String contentType;
+        private final String extension;
+
+        ExportFormat(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        public static ExportFormat from(String value) {
+            try {
+                return valueOf(value.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new ProductException("Unsupported export format: " + value, HttpStatus.BAD_REQUEST);
+            }
+        }
+    }
+
+    private static final String CSV_HEADER = "id,name,category,unitPrice,expirationDate,stockQuantity,creationDate,updateDate,inStock,version";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final int fetchSize;
+
+    public ProductExportService(
+            PlatformTransactionManager transactionManager,
+            ObjectMapper objectMapper,
+            @Value("${inventory.export.fetch-size:1000}") int fetchSize) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // PostgreSQL only uses a server-side cursor for the fetch size inside a transaction
+        this.transactionTemplate.setReadOnly(true);
+        this.objectMapper = objectMapper;
+        this.fetchSize = fetchSize;
+    }
+
+    @ReplicaRead
+    public void export(ProductFilterDTO filter, ExportFormat format, OutputStream out) {
+        ProductService.checkFilter(filter);
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<ProductModel> products = streamProducts(filter)) {
+                switch (format) {
+                    case NDJSON -> writeNdjson(products, out);
+                    case CSV -> writeCsv(products, out);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private Stream<ProductModel> streamProducts(ProductFilterDTO filter) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ProductModel> query = cb.createQuery(ProductModel.class);
+        Root<ProductModel> root = query.from(ProductModel.class);
+        Predicate filters = ProductSpecifications.withFilters(filter, LocalDate.now()).toPredicate(root, query, cb);
+        if (filters != null) {
+            query.where(filters);
+        }
+        query.orderBy(cb.asc(root.get("id")));
+        return entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                // A full-catalog pass would otherwise push every row through the product region and evict the hot set
+                .setHint(SpecHints.HINT_SPEC_CACHE_RETRIEVE_MODE, CacheRetrieveMode.BYPASS)
+                .setHint(SpecHints.HINT_SPEC_CACHE_STORE_MODE, CacheStoreMode.BYPASS)
+                .getResultStream();
+    }
+
+    private ProductResponseDTO toDetachedDTO(ProductModel product) {
+        ProductResponseDTO dto = ProductMapper.toProductResponseDTO(product);
+        entityManager.detach(product);
+        return dto;
+    }
+
+    private void writeNdjson(Stream<ProductModel> products, OutputStream out) throws IOException {
+        boolean written = false;
+        try (SequenceWriter writer = objectMapper.writerFor(ProductResponseDTO.class)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .withRootValueSeparator("\n")
+                .writeValues(out)) {
+            Iterable<ProductModel> rows = products::iterator;
+            for (ProductModel product : rows) {
+                writer.write(toDetachedDTO(product));
+                written = true;
+            }
+        }
+        // The writer only separates records, so the last one is terminated here; an empty export stays empty
+        if (written) {
+            out.write('\n');
+        }
+        out.flush();
+    }
+
+    private void writeCsv(Stream<ProductModel> products, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        Iterable<ProductModel> rows = products::iterator;
+        for (ProductModel product : rows) {
+            ProductResponseDTO dto = toDetachedDTO(product);
+            writer.write(String.valueOf(dto.getId()));
+            writer.write(',');
+            writer.write(csvField(dto.getName()));
+            writer.write(',');
+            writer.write(csvField(dto.getCategory()));
+            writer.write(',');
+            writer.write(dto.getUnitPrice() == null ? "" : dto.getUnitPrice().toPlainString());
+            writer.write(',');
+            writer.write(dto.getExpirationDate() == null ? "" : dto.getExpirationDate().toString());
+            writer.write(',');
+            writer.write(String.valueOf(dto.getStockQuantity()));
+            writer.write(',');
+            writer.write(dto.getCreationDate() == null ? "" : dto.getCreationDate().toString());
+            writer.write(',');
+            writer.write(dto.getUpdateDate() == null ? "" : dto.getUpdateDate().toString());
+            writer.write(',');
+            writer.write(String.valueOf(dto.isInStock()));
+            writer.write(',');
+            writer.write(dto.getVersion() == null ? "" : dto.getVersion().toString());
+            writer.write('\n');
+        }
+        writer.flush();
+    }
+
+    private static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
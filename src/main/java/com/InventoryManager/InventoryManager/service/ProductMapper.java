@@ -0,0 +1,40 @@
+package com.InventoryManager.InventoryManager.service;
+
+import com.InventoryManager.InventoryManager.dto.ProductRequestDTO;
+import com.InventoryManager.InventoryManager.dto.ProductResponseDTO;
+import com.InventoryManager.InventoryManager.model.ProductModel;
+
+public final class ProductMapper {
+
+    private ProductMapper() {
+    }
+
+    public static ProductModel toProductModel(ProductRequestDTO dto) {
+        ProductModel product = new ProductModel();
+        applyRequest(product, dto);
+        return product;
+    }
+
+    public static void applyRequest(ProductModel product, ProductRequestDTO dto) {
+        product.setName(dto.getName());
+        product.setCategory(dto.getCategory());
+        product.setUnitPrice(dto.getUnitPrice());
+        product.setExpirationDate(dto.getExpirationDate());
+        product.setStockQuantity(dto.getStockQuantity());
+    }
+
+    public static ProductResponseDTO toProductResponseDTO(ProductModel product) {
+        ProductResponseDTO dto = new ProductResponseDTO();
+        dto.setId(product.getId());
+        dto.setName(product.getName());
+        dto.setCategory(product.getCategory());
+        dto.setUnitPrice(product.getUnitPrice());
+        dto.setExpirationDate(product.getExpirationDate());
+        dto.setStockQuantity(product.getStockQuantity());
+        dto.setCreationDate(product.getCreationDate());
+        dto.setUpdateDate(product.getUpdateDate());
+        dto.setInStock(product.isInStock());
+        dto.setVersion(product.getVersion());
+        return dto;
+    }
+}
@@ -0,0 +1,216 @@
+package com.InventoryManager.InventoryManager.service;
+
+import com.InventoryManager.InventoryManager.dto.ProductNameDTO;
+import org.roaringbitmap.longlong.LongIterator;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongPredicate;
+import java.util.stream.Stream;
+
+/**
+ * In-memory trigram index over product names for case-insensitive substring search.
+ * A query of three or more characters only verifies the ids posted under its rarest trigram instead of every name.
+ * No query verifies more than {@code inventory.search.max-candidates} names: a search too broad for that (one or two
+ * characters, or only common trigrams) ranks the matches among the candidates it reached, and the listing filter
+ * leaves it to the database.
+ */
+@Component
+public class ProductNameIndex {
+    private static final int GRAM_LENGTH = 3;
+
+    private final Map<Long, String> names = new ConcurrentHashMap<>();
+    private final Map<String, Postings> postings = new ConcurrentHashMap<>();
+    private final int maxFilterMatches;
+    private final int maxCandidates;
+    private volatile boolean ready;
+
+    public ProductNameIndex(
+            @Value("${inventory.search.max-filter-matches:1000}") int maxFilterMatches,
+            @Value("${inventory.search.max-candidates:20000}") int maxCandidates) {
+        this.maxFilterMatches = maxFilterMatches;
+        this.maxCandidates = maxCandidates;
+    }
+
+    // Ids under one trigram. A bitmap adds and removes in logarithmic time, so renaming or deleting a product whose
+    // name shares a common trigram does not scan the other products under it
+    private static final class Postings {
+        private final Roaring64Bitmap ids = new Roaring64Bitmap();
+
+        synchronized void add(long id) {
+            ids.addLong(id);
+        }
+
+        synchronized void remove(long id) {
+            ids.removeLong(id);
+        }
+
+        synchronized long size() {
+            return ids.getLongCardinality();
+        }
+
+        // Walks the ids under the monitor until the visitor returns false; visits are cheap and bounded by the caller
+        synchronized void forEach(LongPredicate visitor) {
+            LongIterator iterator = ids.getLongIterator();
+            boolean more = true;
+            while (more && iterator.hasNext()) {
+                more = visitor.test(iterator.next());
+            }
+        }
+    }
+
+    private record Match(long id, String name, boolean prefix) {
+    }
+
+    // Best first: prefix matches, then shorter and alphabetically earlier names
+    private static final Comparator<Match> RANKING = Comparator.comparing(Match::prefix).reversed()
+            .thenComparingInt(match -> match.name().length())
+            .thenComparing(Match::name)
+            .thenComparingLong(Match::id);
+
+    public void rebuild(Stream<ProductNameDTO> products) {
+        ready = false;
+        names.clear();
+        postings.clear();
+        products.forEach(product -> put(product.getId(), product.getName()));
+        ready = true;
+    }
+
+    public void put(Long id, String name) {
+        if (id == null || name == null) {
+            return;
+        }
+        String normalized = normalize(name);
+        names.compute(id, (key, previous) -> {
+            Set<String> oldGrams = previous == null ? Set.of() : grams(previous);
+            Set<String> newGrams = grams(normalized);
+            for (String gram : oldGrams) {
+                if (!newGrams.contains(gram)) {
+                    removePosting(gram, id);
+                }
+            }
+            for (String gram : newGrams) {
+                if (!oldGrams.contains(gram)) {
+                    postings.computeIfAbsent(gram, g -> new Postings()).add(id);
+                }
+            }
+            return normalized;
+        });
+    }
+
+    public void remove(Long id) {
+        names.computeIfPresent(id, (key, previous) -> {
+            grams(previous).forEach(gram -> removePosting(gram, id));
+            return null;
+        });
+    }
+
+    /** Ids of the best {@code limit} names containing {@code query}, prefix matches first. */
+    public List<Long> search(String query, int limit) {
+        String normalized = normalize(query);
+        PriorityQueue<Match> best = new PriorityQueue<>(RANKING.reversed());
+        forEachMatch(normalized, (id, name) -> {
+            best.add(new Match(id, name, name.startsWith(normalized)));
+            if (best.size() > limit) {
+                best.poll();
+            }
+            return true;
+        });
+        List<Match> ranked = new ArrayList<>(best);
+        ranked.sort(RANKING);
+        return ranked.stream().map(Match::id).toList();
+    }
+
+    /**
+     * Ids whose name contains {@code query}, for the listing's name filter. Empty when the index cannot answer
+     * exactly like the SQL filter (not loaded yet, fewer than three characters, LIKE wildcards, too many candidates
+     * to verify) or when there are more matches than an id list should carry, in which case callers fall back to the
+     * database. Either way it stops as soon as it knows.
+     */
+    public Optional<Set<Long>> matchingIds(String query) {
+        String normalized = normalize(query);
+        if (!ready || normalized.length() < GRAM_LENGTH || normalized.indexOf('%') >= 0 || normalized.indexOf('_') >= 0) {
+            return Optional.empty();
+        }
+        Set<Long> ids = new HashSet<>();
+        boolean complete = forEachMatch(normalized, (id, name) -> {
+            ids.add(id);
+            return ids.size() <= maxFilterMatches;
+        });
+        return complete ? Optional.of(ids) : Optional.empty();
+    }
+
+    private interface MatchConsumer {
+        /** Takes a match; returns false to stop. */
+        boolean accept(long id, String name);
+    }
+
+    // Whether every candidate was verified, i.e. neither the consumer nor the candidate cap stopped it early
+    private boolean forEachMatch(String normalized, MatchConsumer consumer) {
+        int[] verified = {0};
+        boolean[] stopped = {false};
+        LongPredicate verify = id -> {
+            if (verified[0]++ == maxCandidates) {
+                stopped[0] = true;
+                return false;
+            }
+            String name = names.get(id);
+            if (name != null && name.contains(normalized) && !consumer.accept(id, name)) {
+                stopped[0] = true;
+                return false;
+            }
+            return true;
+        };
+        if (normalized.length() < GRAM_LENGTH) {
+            // Too short to have a trigram: check names in map order, up to the cap
+            Iterator<Long> ids = names.keySet().iterator();
+            boolean more = true;
+            while (more && ids.hasNext()) {
+                more = verify.test(ids.next());
+            }
+            return !stopped[0];
+        }
+        Postings rarest = null;
+        for (String gram : grams(normalized)) {
+            Postings candidate = postings.get(gram);
+            if (candidate == null) {
+                return true;
+            }
+            if (rarest == null || candidate.size() < rarest.size()) {
+                rarest = candidate;
+            }
+        }
+        rarest.forEach(verify);
+        return !stopped[0];
+    }
+
+    private void removePosting(String gram, Long id) {
+        Postings ids = postings.get(gram);
+        if (ids != null) {
+            ids.remove(id);
+        }
+    }
+
+    private static String normalize(String value) {
+        return value.toLowerCase(Locale.ROOT);
+    }
+
+    private static Set<String> grams(String normalized) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= normalized.length(); i++) {
+            grams.add(normalized.substring(i, i + GRAM_LENGTH));
+        }
+        return grams;
+    }
+}
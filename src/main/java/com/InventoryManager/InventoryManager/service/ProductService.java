@@ -1,148 +1,448 @@
 package com.InventoryManager.InventoryManager.service;
+import com.InventoryManager.InventoryManager.config.CacheConfig;
+import com.InventoryManager.InventoryManager.config.ReplicaRead;
+import com.InventoryManager.InventoryManager.config.SingleFlight;
 import com.InventoryManager.InventoryManager.dto.CategoryMetricsDTO;
+import com.InventoryManager.InventoryManager.dto.CategoryMetricsSummaryDTO;
+import com.InventoryManager.InventoryManager.dto.ProductChangeDTO.Type;
 import com.InventoryManager.InventoryManager.dto.ProductException;
+import com.InventoryManager.InventoryManager.dto.ProductFields;
+import com.InventoryManager.InventoryManager.dto.ProductFilterDTO;
+import com.InventoryManager.InventoryManager.dto.ProductNameDTO;
+import com.InventoryManager.InventoryManager.dto.ProductPatchDTO;
 import com.InventoryManager.InventoryManager.dto.ProductRequestDTO;
 import com.InventoryManager.InventoryManager.dto.ProductResponseDTO;
+import com.InventoryManager.InventoryManager.dto.ProductSliceDTO;
+import com.InventoryManager.InventoryManager.repository.ProductPatchRepository.PatchedProduct;
+import com.InventoryManager.InventoryManager.repository.ProductStockRepository.AdjustedStock;
+import com.InventoryManager.InventoryManager.repository.ProductSpecifications;
+import com.InventoryManager.InventoryManager.service.CategoryAggregateStore.CategoryAggregate;
+import com.InventoryManager.InventoryManager.service.CategoryAggregateStore.Contribution;
+import io.micrometer.core.annotation.Timed;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import com.InventoryManager.InventoryManager.model.Money;
 import com.InventoryManager.InventoryManager.model.ProductModel;
 import com.InventoryManager.InventoryManager.repository.ProductRepository;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
+@Timed(value = "inventory.service", description = "Service method calls")
 public class ProductService {
+    private static final int MAX_SEARCH_RESULTS = 100;
+
     private final ProductRepository productRepository;
+    private final CategoryDictionary categoryDictionary;
+    private final CategoryAggregateStore categoryAggregateStore;
+    private final ProductNameIndex productNameIndex;
+    private final ExpirationSweeper expirationSweeper;
+    private final ProductCatalogEngine productCatalogEngine;
+    private final CacheManager cacheManager;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public ProductService(ProductRepository productRepository) {
+    public ProductService(
+            ProductRepository productRepository,
+            CategoryDictionary categoryDictionary,
+            CategoryAggregateStore categoryAggregateStore,
+            ProductNameIndex productNameIndex,
+            ExpirationSweeper expirationSweeper,
+            ProductCatalogEngine productCatalogEngine,
+            CacheManager cacheManager,
+            ApplicationEventPublisher eventPublisher) {
         this.productRepository = productRepository;
+        this.categoryDictionary = categoryDictionary;
+        this.categoryAggregateStore = categoryAggregateStore;
+        this.productNameIndex = productNameIndex;
+        this.expirationSweeper = expirationSweeper;
+        this.productCatalogEngine = productCatalogEngine;
+        this.cacheManager = cacheManager;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildCategoryAggregates() {
+        categoryAggregateStore.rebuild(productRepository.getCategoryAggregates());
     }
 
-    private ProductModel toProductModel(ProductRequestDTO dto) {
-        ProductModel product = new ProductModel();
-        product.setName(dto.getName());
-        product.setCategory(dto.getCategory());
-        product.setUnitPrice(dto.getUnitPrice());
-        product.setExpirationDate(dto.getExpirationDate());
-        product.setStockQuantity(dto.getStockQuantity());
-        return product;
-    }
-
-    private ProductResponseDTO toProductResponseDTO(ProductModel product) {
-        ProductResponseDTO dto = new ProductResponseDTO();
-        dto.setId(product.getId());
-        dto.setName(product.getName());
-        dto.setCategory(product.getCategory());
-        dto.setUnitPrice(product.getUnitPrice());
-        dto.setExpirationDate(product.getExpirationDate());
-        dto.setStockQuantity(product.getStockQuantity());
-        dto.setCreationDate(product.getCreationDate());
-        dto.setUpdateDate(product.getUpdateDate());
-        dto.setInStock(product.isInStock());
-        return dto;
-    }
-
-    public Page<ProductResponseDTO> getAllProducts(
-            String name,
-            List<String> categories,
-            Boolean inStock,
-            Pageable pageable) {
-        return productRepository.findProductsByFilters(name, categories, inStock, pageable)
-                .map(this::toProductResponseDTO);
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuildNameIndex() {
+        try (Stream<ProductNameDTO> names = productRepository.streamProductNames()) {
+            productNameIndex.rebuild(names);
+        }
+    }
+
+    // Ids for the name filter from the trigram index when it can answer, otherwise the database applies LIKE
+    private Optional<Set<Long>> indexedNameMatches(String name) {
+        return name == null ? Optional.empty() : productNameIndex.matchingIds(name);
+    }
+
+    static void checkFilter(ProductFilterDTO filter) {
+        if (filter.getExpiringFrom() != null && filter.getExpiringTo() != null
+                && filter.getExpiringFrom().isAfter(filter.getExpiringTo())) {
+            throw new ProductException("expiringFrom cannot be after expiringTo", HttpStatus.BAD_REQUEST);
+        }
     }
+
+    // Served from the in-memory catalog engine when it is enabled and can answer. Otherwise reads project straight into
+    // response DTOs, the page and its count in one read-only repository transaction, so the engine path takes no
+    // connection. Identical concurrent reads, e.g. dashboards polling the first page on the hour, share one query
+    @SingleFlight
+    @ReplicaRead
+    public Page<ProductResponseDTO> getAllProducts(ProductFilterDTO filter, Pageable pageable) {
+        return getAllProducts(filter, pageable, ProductFields.ALL);
+    }
+
+    // A sparse read selects only the columns behind the requested fields and leaves the other properties unset
+    @SingleFlight
+    @ReplicaRead
+    public Page<ProductResponseDTO> getAllProducts(ProductFilterDTO filter, Pageable pageable, ProductFields fields) {
+        checkFilter(filter);
+        Optional<Page<ProductResponseDTO>> inMemory = productCatalogEngine.find(filter, pageable);
+        if (inMemory.isPresent()) {
+            return inMemory.get();
+        }
+        Optional<Set<Long>> indexedIds = indexedNameMatches(filter.getName());
+        if (indexedIds.isPresent()) {
+            if (indexedIds.get().isEmpty()) {
+                return Page.empty(pageable);
+            }
+            Specification<ProductModel> filters = ProductSpecifications.idIn(indexedIds.get())
+                    .and(ProductSpecifications.attributeFilters(filter, LocalDate.now()));
+            return fields.isAll() ? productRepository.findResponses(filters, pageable)
+                    : productRepository.findResponses(filters, pageable, fields);
+        }
+        return fields.isAll() ? productRepository.findResponsesByFilters(filter, pageable)
+                : productRepository.findResponses(ProductSpecifications.withFilters(filter, LocalDate.now()), pageable, fields);
+    }
+
+    @SingleFlight
+    @ReplicaRead
+    @Transactional(readOnly = true)
+    public ProductSliceDTO getProductsAfterCursor(ProductFilterDTO filter, String cursor, Pageable pageable) {
+        checkFilter(filter);
+        ProductCursor position = cursor == null || cursor.isBlank() ? null : ProductCursor.decode(cursor);
+        String property = "id";
+        Sort.Direction direction = Sort.Direction.ASC;
+        if (position != null) {
+            property = position.property();
+            direction = position.direction();
+        } else if (pageable.getSort().isSorted()) {
+            List<Sort.Order> orders = pageable.getSort().toList();
+            if (orders.size() > 1) {
+                throw new ProductException("Cursor pagination supports a single sort property", HttpStatus.BAD_REQUEST);
+            }
+            property = orders.get(0).getProperty();
+            direction = orders.get(0).getDirection();
+            ProductCursor.checkSortable(property);
+        }
+
+        int size = pageable.getPageSize();
+        Optional<Set<Long>> indexedIds = indexedNameMatches(filter.getName());
+        if (indexedIds.isPresent() && indexedIds.get().isEmpty()) {
+            return new ProductSliceDTO(List.of(), size, false, null);
+        }
+        LocalDate today = LocalDate.now();
+        Specification<ProductModel> filters = indexedIds
+                .map(ids -> ProductSpecifications.idIn(ids).and(ProductSpecifications.attributeFilters(filter, today)))
+                .orElseGet(() -> ProductSpecifications.withFilters(filter, today));
+        if (position != null) {
+            filters = filters.and(ProductSpecifications.seekAfter(property, direction, position.value(), position.id()));
+        }
+        Sort sort = ProductCursor.sortBy(property, direction);
+        // One extra row tells us whether there is a next slice without a count query
+        List<ProductResponseDTO> rows = productRepository.findResponses(filters, sort, size + 1);
+
+        boolean hasNext = rows.size() > size;
+        List<ProductResponseDTO> content = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = hasNext
+                ? ProductCursor.after(content.get(content.size() - 1), property, direction).encode()
+                : null;
+        return new ProductSliceDTO(content, size, hasNext, nextCursor);
+    }
+
+    @SingleFlight
+    @ReplicaRead
+    @Transactional(readOnly = true)
+    public List<ProductResponseDTO> searchProductsByName(String query, int limit) {
+        if (query == null || query.isBlank()) {
+            throw new ProductException("Search query is required", HttpStatus.BAD_REQUEST);
+        }
+        if (limit < 1 || limit > MAX_SEARCH_RESULTS) {
+            throw new ProductException("Search limit must be between 1 and " + MAX_SEARCH_RESULTS, HttpStatus.BAD_REQUEST);
+        }
+        List<Long> ids = productNameIndex.search(query, limit);
+        Map<Long, ProductResponseDTO> products = productRepository.findResponsesByIdIn(ids).stream()
+                .collect(Collectors.toMap(ProductResponseDTO::getId, Function.identity()));
+        return ids.stream()
+                .map(products::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    // Stays on the primary: a stale replica row would be cached and served long after the replica caught up
+    @Cacheable(cacheNames = CacheConfig.PRODUCTS_CACHE, key = "#id", sync = true)
+    @Transactional(readOnly = true)
     public ProductResponseDTO getProductById(Long id) {
-        ProductModel product = productRepository.findById(id)
+        return productRepository.findResponseById(id)
+                .orElseThrow(() -> new ProductException("Did not find product with id " + id, HttpStatus.NOT_FOUND));
+    }
+
+    // Replaces a cached product that has not caught up with a committed change yet
+    @CachePut(cacheNames = CacheConfig.PRODUCTS_CACHE, key = "#id")
+    @Transactional(readOnly = true)
+    public ProductResponseDTO reloadProductById(Long id) {
+        return productRepository.findResponseById(id)
+                .orElseThrow(() -> new ProductException("Did not find product with id " + id, HttpStatus.NOT_FOUND));
+    }
+
+    // A sparse lookup is answered by the cached product when there is one. Otherwise it selects the requested columns
+    // only, and the partial product is not cached
+    public ProductResponseDTO getProductFieldsById(Long id, ProductFields fields) {
+        Cache productCache = cacheManager.getCache(CacheConfig.PRODUCTS_CACHE);
+        ProductResponseDTO cached = productCache == null ? null : productCache.get(id, ProductResponseDTO.class);
+        if (cached != null) {
+            return cached;
+        }
+        return productRepository.findResponseById(id, fields)
                 .orElseThrow(() -> new ProductException("Did not find product with id " + id, HttpStatus.NOT_FOUND));
-        return toProductResponseDTO(product);
     }
 
     public ProductResponseDTO createProduct(@Valid ProductRequestDTO productRequestDTO) {
-        ProductModel product = toProductModel(productRequestDTO);
+        ProductModel product = ProductMapper.toProductModel(productRequestDTO);
         ProductModel createdProduct = productRepository.save(product);
-        return toProductResponseDTO(createdProduct);
+        categoryAggregateStore.add(Contribution.of(createdProduct));
+        productNameIndex.put(createdProduct.getId(), createdProduct.getName());
+        expirationSweeper.productWritten(createdProduct);
+        return publish(Type.CREATED, createdProduct);
     }
 
+    // Read-modify-write paths load the row itself, bypassing the second-level cache, and save it in the same
+    // transaction, so the version they write against is the one in the database rather than a cached copy. The flush
+    // bumps the version and update date before the response is built, and fails when another write got there first, so
+    // the before and after values are exactly the ones this write moved between. The aggregates take them once it commits
+    @CachePut(cacheNames = CacheConfig.PRODUCTS_CACHE, key = "#id")
+    @Transactional
     public ProductResponseDTO updateProduct(Long id, @Valid ProductRequestDTO productRequestDTO) {
-        ProductModel updatedProduct = productRepository.findById(id)
-                .map((toUpdateProduct) -> {
-                    toUpdateProduct.setName(productRequestDTO.getName());
-                    toUpdateProduct.setCategory(productRequestDTO.getCategory());
-                    toUpdateProduct.setUnitPrice(productRequestDTO.getUnitPrice());
-                    toUpdateProduct.setExpirationDate(productRequestDTO.getExpirationDate());
-                    toUpdateProduct.setStockQuantity(productRequestDTO.getStockQuantity());
-                    return toUpdateProduct;
-                }).orElseThrow(() -> new ProductException("Didn't find product with id: " + id, HttpStatus.NOT_FOUND));
-        return toProductResponseDTO(productRepository.save(updatedProduct));
+        ProductModel toUpdateProduct = productRepository.findUncachedById(id)
+                .orElseThrow(() -> new ProductException("Didn't find product with id: " + id, HttpStatus.NOT_FOUND));
+        Contribution before = Contribution.of(toUpdateProduct);
+        ProductMapper.applyRequest(toUpdateProduct, productRequestDTO);
+        ProductModel updatedProduct = productRepository.saveAndFlush(toUpdateProduct);
+        Contribution after = Contribution.of(updatedProduct);
+        afterCommit(() -> categoryAggregateStore.replace(before, after));
+        productNameIndex.put(updatedProduct.getId(), updatedProduct.getName());
+        expirationSweeper.productWritten(updatedProduct);
+        return publish(Type.UPDATED, updatedProduct);
     }
 
-    public void deleteProduct(Long id) {
-        if (!productRepository.existsById(id)) {
-            throw new ProductException("Product not found with id: " + id, HttpStatus.NOT_FOUND);
+    static void checkPatch(ProductPatchDTO patch) {
+        if (patch.getVersion() == null) {
+            throw new ProductException("Version is required", HttpStatus.BAD_REQUEST);
+        }
+        if (patch.isEmpty()) {
+            throw new ProductException("Nothing to update", HttpStatus.BAD_REQUEST);
+        }
+        // The patch is written without the entity, so the entity's constraints are checked here. Only the expiration
+        // date may be sent as null
+        if (patch.has("name") && (patch.getName() == null || patch.getName().isBlank() || patch.getName().length() > 120)) {
+            throw new ProductException("Name is required and cannot exceed 120 characters", HttpStatus.BAD_REQUEST);
+        }
+        if (patch.has("category") && (patch.getCategory() == null || patch.getCategory().isBlank())) {
+            throw new ProductException("Category is required", HttpStatus.BAD_REQUEST);
+        }
+        if (patch.has("unitPrice") && (patch.getUnitPrice() == null || patch.getUnitPrice().compareTo(new BigDecimal("0.01")) < 0)) {
+            throw new ProductException("Unit price must be greater than 0", HttpStatus.BAD_REQUEST);
+        }
+        if (patch.has("unitPrice") && !Money.isWholeCents(patch.getUnitPrice())) {
+            throw new ProductException("Unit price cannot have more than 2 decimal places", HttpStatus.BAD_REQUEST);
+        }
+        if (patch.has("stockQuantity") && (patch.getStockQuantity() == null || patch.getStockQuantity() < 0)) {
+            throw new ProductException("Quantity in stock is required and cannot be negative", HttpStatus.BAD_REQUEST);
         }
-        productRepository.deleteById(id);
     }
 
+    // Evict rather than put, like the stock adjustment; a stale version throws OptimisticLockingFailureException
+    @CacheEvict(cacheNames = CacheConfig.PRODUCTS_CACHE, key = "#id")
+    public ProductResponseDTO patchProduct(Long id, ProductPatchDTO patch) {
+        checkPatch(patch);
+        PatchedProduct patched = productRepository.patch(id, patch)
+                .orElseThrow(() -> new ProductException("Didn't find product with id: " + id, HttpStatus.NOT_FOUND));
+        categoryAggregateStore.replace(Contribution.of(patched.before()), Contribution.of(patched.after()));
+        if (patch.has("name")) {
+            productNameIndex.put(id, patched.after().getName());
+        }
+        expirationSweeper.productWritten(patched.after());
+        return publish(Type.UPDATED, patched.after());
+    }
+
+    // The delete is checked against the version it read, so of two concurrent deletes only one removes the product
+    // from the aggregates
+    @CacheEvict(cacheNames = CacheConfig.PRODUCTS_CACHE, key = "#id")
+    @Transactional
+    public void deleteProduct(Long id) {
+        ProductModel product = productRepository.findUncachedById(id)
+                .orElseThrow(() -> new ProductException("Product not found with id: " + id, HttpStatus.NOT_FOUND));
+        productRepository.delete(product);
+        productRepository.flush();
+        Contribution removed = Contribution.of(product);
+        afterCommit(() -> categoryAggregateStore.remove(removed));
+        productNameIndex.remove(id);
+        eventPublisher.publishEvent(new ProductChangedEvent(Type.DELETED, id, null));
+    }
+
+    @CachePut(cacheNames = CacheConfig.PRODUCTS_CACHE, key = "#id")
+    @Transactional
     public ProductResponseDTO markOutOfStock(Long id) {
-        ProductModel product = productRepository.findById(id)
+        ProductModel product = productRepository.findUncachedById(id)
                 .map(p -> {
+                    Contribution before = Contribution.of(p);
                     p.markOutOfStock();
-                    return productRepository.save(p);
+                    ProductModel saved = productRepository.saveAndFlush(p);
+                    Contribution after = Contribution.of(saved);
+                    afterCommit(() -> categoryAggregateStore.replace(before, after));
+                    return saved;
                 })
                 .orElseThrow(() -> new ProductException("Product not found with id: " + id, HttpStatus.NOT_FOUND));
-        return toProductResponseDTO(product);
+        return publish(Type.STOCK, product);
     }
 
+    @CachePut(cacheNames = CacheConfig.PRODUCTS_CACHE, key = "#id")
+    @Transactional
     public ProductResponseDTO markInStock(Long id, int quantity) {
-        ProductModel product = productRepository.findById(id)
+        ProductModel product = productRepository.findUncachedById(id)
                 .map(p -> {
+                    Contribution before = Contribution.of(p);
                     p.markInStock(quantity);
-                    return productRepository.save(p);
+                    ProductModel saved = productRepository.saveAndFlush(p);
+                    Contribution after = Contribution.of(saved);
+                    afterCommit(() -> categoryAggregateStore.replace(before, after));
+                    expirationSweeper.productWritten(saved);
+                    return saved;
                 })
                 .orElseThrow(() -> new ProductException("Product not found with id: " + id, HttpStatus.NOT_FOUND));
-        return toProductResponseDTO(product);
+        return publish(Type.STOCK, product);
     }
 
-    public Integer getTotalProductsInStockInCategory(String category) {
-        Integer total = productRepository.getTotalProductStockInCategory(category);
-        if (total == null) {
-            throw new ProductException("No products found in category: " + category, HttpStatus.NOT_FOUND);
-        }
-        return total;
+    // Evict rather than put: concurrent deltas could otherwise leave an older response in the cache
+    @CacheEvict(cacheNames = CacheConfig.PRODUCTS_CACHE, key = "#id")
+    public ProductResponseDTO adjustStock(Long id, int delta) {
+        AdjustedStock stock = productRepository.adjustStock(id, delta).orElseThrow(() -> {
+            if (!productRepository.existsById(id)) {
+                return new ProductException("Product not found with id: " + id, HttpStatus.NOT_FOUND);
+            }
+            return new ProductException("Insufficient stock for product with id: " + id, HttpStatus.CONFLICT);
+        });
+        // Counted with the price and category the row had under the adjustment's lock, not those of the read below
+        categoryAggregateStore.adjustStock(categoryDictionary.nameOf(stock.categoryId()), stock.unitPriceCents(),
+                stock.stockQuantity() - delta, stock.stockQuantity());
+        ProductModel product = productRepository.findUncachedById(id)
+                .orElseThrow(() -> new ProductException("Product not found with id: " + id, HttpStatus.NOT_FOUND));
+        expirationSweeper.productWritten(product);
+        return publish(Type.STOCK, product);
     }
 
-    public Float getTotalValueInCategory(String category) {
-        Float total = productRepository.getTotalValueInCategory(category);
-        if (total == null) {
-            throw new ProductException("No products found in category: " + category, HttpStatus.NOT_FOUND);
+    // Runs once the surrounding transaction commits, and not at all if it rolls back
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
         }
-        return total;
     }
 
-    public Float getAverageValueInCategory(String category) {
-        Float avg = productRepository.getAverageValueInCategory(category);
-        if (avg == null) {
-            throw new ProductException("No products found in category: " + category, HttpStatus.NOT_FOUND);
-        }
-        return avg;
+    private ProductResponseDTO publish(Type type, ProductModel product) {
+        ProductResponseDTO response = ProductMapper.toProductResponseDTO(product);
+        eventPublisher.publishEvent(ProductChangedEvent.of(type, response));
+        return response;
+    }
+
+    private CategoryAggregate getCategoryAggregate(String category) {
+        return categoryAggregateStore.get(category)
+                .orElseThrow(() -> new ProductException("No products found in category: " + category, HttpStatus.NOT_FOUND));
+    }
+
+    private static CategoryMetricsDTO toMetrics(CategoryAggregate aggregate) {
+        return new CategoryMetricsDTO(
+                Math.toIntExact(aggregate.totalStock()),
+                Money.fromCents(aggregate.unitPriceSumCents()),
+                aggregate.productCount() == 0 ? null : Money.average(aggregate.unitPriceSumCents(), aggregate.productCount()),
+                aggregate.productCount(),
+                aggregate.outOfStockCount(),
+                Money.fromCents(aggregate.totalValueCents()));
+    }
+
+    public Integer getTotalProductsInStockInCategory(String category) {
+        return Math.toIntExact(getCategoryAggregate(category).totalStock());
+    }
+
+    public BigDecimal getTotalValueInCategory(String category) {
+        return Money.fromCents(getCategoryAggregate(category).totalValueCents());
+    }
+
+    public BigDecimal getAverageValueInCategory(String category) {
+        CategoryAggregate aggregate = getCategoryAggregate(category);
+        return Money.average(aggregate.unitPriceSumCents(), aggregate.productCount());
     }
 
-    public Float getAverageValue() {
-        Float avg = productRepository.getAverageValue();
-        if (avg == null) {
+    public BigDecimal getAverageValue() {
+        CategoryAggregate total = categoryAggregateStore.total();
+        if (total.productCount() == 0) {
             throw new ProductException("No products found.", HttpStatus.NOT_FOUND);
         }
-        return avg;
+        return Money.average(total.unitPriceSumCents(), total.productCount());
     }
 
     public CategoryMetricsDTO getCategoryMetrics(String category) {
-        CategoryMetricsDTO metrics = productRepository.getCategoryMetrics(category);
-        if (metrics == null) {
-            throw new ProductException("No products found in category: " + category, HttpStatus.NOT_FOUND);
-        }
-        return metrics;
+        return toMetrics(getCategoryAggregate(category));
+    }
+
+    /**
+     * Metrics of every category, or of the requested ones that have products, plus the catalog totals. All of it
+     * comes from one snapshot of the aggregates, so the categories add up to the totals when none is filtered out.
+     */
+    public CategoryMetricsSummaryDTO getAllCategoryMetrics(List<String> categories) {
+        SortedMap<String, CategoryAggregate> snapshot = categoryAggregateStore.snapshot();
+        Map<String, CategoryMetricsDTO> metrics = new LinkedHashMap<>();
+        snapshot.forEach((category, aggregate) -> {
+            if (categories == null || categories.contains(category)) {
+                metrics.put(category, toMetrics(aggregate));
+            }
+        });
+        return new CategoryMetricsSummaryDTO(metrics, toMetrics(CategoryAggregateStore.sum(snapshot.values())));
     }
- }
\ No newline at end of file
+ }
@@ -0,0 +1,14 @@
+-- Pooled sequence: Hibernate reserves 50 ids per call, so the increment must match allocationSize on ProductModel
+CREATE SEQUENCE product_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE product_model (
+    id              BIGINT         NOT NULL,
+    name            VARCHAR(120)   NOT NULL,
+    category        VARCHAR(255)   NOT NULL,
+    unit_price      NUMERIC(38, 2) NOT NULL,
+    expiration_date DATE,
+    stock_quantity  INTEGER        NOT NULL,
+    creation_date   DATE,
+    update_date     DATE,
+    CONSTRAINT pk_product_model PRIMARY KEY (id)
+);
@@ -0,0 +1,10 @@
+-- Category filter (category IN ...) and keyset paging sorted by category, with id as the tie-breaker
+CREATE INDEX idx_product_category_id ON product_model (category, id);
+
+-- Covers the per-category aggregates (count, stock and value sums) without touching the table
+CREATE INDEX idx_product_category_stock_price ON product_model (category, stock_quantity, unit_price);
+
+-- Keyset paging on the remaining sortable columns
+CREATE INDEX idx_product_name_id ON product_model (name, id);
+CREATE INDEX idx_product_unit_price_id ON product_model (unit_price, id);
+CREATE INDEX idx_product_stock_quantity_id ON product_model (stock_quantity, id);
@@ -0,0 +1,2 @@
+-- Expiry range filters, and the expiration sweeper, which reads one bucket of due dates at a time
+CREATE INDEX idx_product_expiration_date_id ON product_model (expiration_date, id);
@@ -0,0 +1,22 @@
+-- Categories become a dictionary table; products reference them by a 4-byte key instead of repeating the name
+CREATE TABLE category (
+    id   INTEGER      GENERATED BY DEFAULT AS IDENTITY,
+    name VARCHAR(255) NOT NULL,
+    CONSTRAINT pk_category PRIMARY KEY (id),
+    CONSTRAINT uk_category_name UNIQUE (name)
+);
+
+INSERT INTO category (name) SELECT DISTINCT category FROM product_model ORDER BY category;
+
+ALTER TABLE product_model ADD COLUMN category_id INTEGER;
+UPDATE product_model SET category_id = (SELECT c.id FROM category c WHERE c.name = product_model.category);
+ALTER TABLE product_model ALTER COLUMN category_id SET NOT NULL;
+
+-- The category indexes move to the key column under their old names
+DROP INDEX IF EXISTS idx_product_in_stock_category_id;
+DROP INDEX idx_product_category_id;
+DROP INDEX idx_product_category_stock_price;
+ALTER TABLE product_model DROP COLUMN category;
+
+CREATE INDEX idx_product_category_id ON product_model (category_id, id);
+CREATE INDEX idx_product_category_stock_price ON product_model (category_id, stock_quantity, unit_price);
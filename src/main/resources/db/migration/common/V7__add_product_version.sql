@@ -0,0 +1,2 @@
+-- Optimistic locking: every write bumps the version and versioned writes only apply to the version they read
+ALTER TABLE product_model ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
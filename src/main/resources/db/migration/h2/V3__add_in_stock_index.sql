@@ -0,0 +1,2 @@
+-- H2 has no partial indexes; in-stock filters use idx_product_stock_quantity_id from V2 instead.
+-- This version is kept so both vendors share the same migration history.
@@ -0,0 +1,2 @@
+-- Listings filtered on inStock=true only ever read rows with stock; a partial index keeps out-of-stock rows out of it
+CREATE INDEX idx_product_in_stock_category_id ON product_model (category, id) WHERE stock_quantity > 0;
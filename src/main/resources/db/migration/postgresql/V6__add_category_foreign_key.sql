@@ -0,0 +1,4 @@
+ALTER TABLE product_model ADD CONSTRAINT fk_product_category FOREIGN KEY (category_id) REFERENCES category (id);
+
+-- V5 dropped the partial in-stock index together with the category column; rebuild it on the category key
+CREATE INDEX idx_product_in_stock_category_id ON product_model (category_id, id) WHERE stock_quantity > 0;
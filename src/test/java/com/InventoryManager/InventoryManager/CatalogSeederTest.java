@@ -0,0 +1,83 @@
+package com.InventoryManager.InventoryManager;
+
+import com.InventoryManager.InventoryManager.config.CatalogSeedProperties;
+import com.InventoryManager.InventoryManager.dto.ProductRequestDTO;
+import com.InventoryManager.InventoryManager.model.ProductModel;
+import com.InventoryManager.InventoryManager.service.CatalogGenerator;
+import com.InventoryManager.InventoryManager.service.ProductService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:seedtest",
+        "inventory.seed.products=5000",
+        "inventory.seed.categories=12",
+        "inventory.seed.category-skew=1",
+        "inventory.seed.seed=7",
+        "inventory.seed.base-date=2025-01-01",
+        "inventory.seed.threads=4",
+        "inventory.seed.batch-size=700",
+        // The seeded expiration dates are already in the past
+        "inventory.expiry.sweep-enabled=false"
+})
+public class CatalogSeederTest {
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private CatalogSeedProperties properties;
+
+    @Test
+    @DisplayName("Should seed every configured row with unique pooled ids and the configured category skew")
+    void seedsCatalog() {
+        assertEquals(5000, jdbcTemplate.queryForObject("SELECT COUNT(DISTINCT id) FROM product_model", Long.class));
+        // Consecutive ids: the up-front reservation covers the whole catalog
+        assertEquals(4999, jdbcTemplate.queryForObject("SELECT MAX(id) - MIN(id) FROM product_model", Long.class));
+
+        List<Map<String, Object>> categories = jdbcTemplate.queryForList(
+                "SELECT c.name AS category, COUNT(*) AS products FROM product_model p JOIN category c ON c.id = p.category_id "
+                        + "GROUP BY c.name ORDER BY products DESC");
+        assertEquals(12, categories.size());
+        assertEquals("Electronics", categories.get(0).get("category"));
+        long first = (Long) categories.get(0).get("products");
+        long last = (Long) categories.get(11).get("products");
+        assertTrue(first > 5 * last, "first " + first + " last " + last);
+
+        // Entities saved afterwards take their ids from the same sequence
+        Long created = productService.createProduct(
+                new ProductRequestDTO("After seeding", "Books", new BigDecimal("1.00"), null, 1)).getId();
+        assertTrue(created > jdbcTemplate.queryForObject("SELECT MAX(id) FROM product_model WHERE id <> ?", Long.class, created));
+    }
+
+    @Test
+    @DisplayName("Should regenerate identical rows for the same seed")
+    void reproducible() {
+        Map<String, Object> stored = jdbcTemplate.queryForMap("SELECT p.name, c.name AS category, unit_price, stock_quantity, "
+                + "expiration_date FROM product_model p JOIN category c ON c.id = p.category_id "
+                + "WHERE p.id = (SELECT MIN(id) FROM product_model) + 4320");
+        ProductModel regenerated = new CatalogGenerator(properties, 7, LocalDate.of(2025, 1, 1)).product(4320);
+
+        assertEquals(regenerated.getName(), stored.get("NAME"));
+        assertEquals(regenerated.getCategory(), stored.get("CATEGORY"));
+        assertEquals(regenerated.getUnitPrice(), stored.get("UNIT_PRICE"));
+        assertEquals(regenerated.getStockQuantity(), stored.get("STOCK_QUANTITY"));
+        assertEquals(regenerated.getExpirationDate(),
+                stored.get("EXPIRATION_DATE") == null ? null : ((Date) stored.get("EXPIRATION_DATE")).toLocalDate());
+        assertNotEquals(regenerated.getName(),
+                new CatalogGenerator(properties, 8, LocalDate.of(2025, 1, 1)).product(4320).getName());
+    }
+}
@@ -0,0 +1,138 @@
+package com.InventoryManager.InventoryManager;
+
+import com.InventoryManager.InventoryManager.dto.ProductFilterDTO;
+import com.InventoryManager.InventoryManager.dto.ProductRequestDTO;
+import com.InventoryManager.InventoryManager.dto.ProductResponseDTO;
+import com.InventoryManager.InventoryManager.dto.ProductSliceDTO;
+import com.InventoryManager.InventoryManager.service.CategoryDictionary;
+import com.InventoryManager.InventoryManager.service.ProductService;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:categorytest",
+        "inventory.expiry.sweep-enabled=false",
+        "inventory.seed.enabled=false"
+})
+public class CategoryDictionaryTest {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private CategoryDictionary categoryDictionary;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private ProductResponseDTO create(String name, String category) {
+        return productService.createProduct(new ProductRequestDTO(
+                name, category, new BigDecimal("3.00"), LocalDate.of(2030, 1, 1), 1));
+    }
+
+    private static void migrate(DriverManagerDataSource dataSource, String target) {
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration/common", "classpath:db/migration/h2")
+                .target(target)
+                .load()
+                .migrate();
+    }
+
+    @Test
+    @DisplayName("Should store categories as dictionary keys and keep names at the API")
+    void storesKeys() {
+        ProductResponseDTO created = create("Stapler", "Stationery");
+        int key = categoryDictionary.find("Stationery").orElseThrow();
+
+        assertEquals(key, jdbcTemplate.queryForObject(
+                "SELECT category_id FROM product_model WHERE id = ?", Integer.class, created.getId()));
+        assertEquals("Stationery", productService.getProductById(created.getId()).getCategory());
+        assertEquals(List.of("Stapler"), productService.getAllProducts(
+                new ProductFilterDTO(null, List.of("Stationery"), null), PageRequest.of(0, 10))
+                .map(ProductResponseDTO::getName).getContent());
+
+        // Filtering on a category nobody created finds nothing and does not create it
+        assertTrue(productService.getAllProducts(
+                new ProductFilterDTO(null, List.of("Nonexistent"), null), PageRequest.of(0, 10)).isEmpty());
+        assertTrue(categoryDictionary.find("Nonexistent").isEmpty());
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM category WHERE name = 'Nonexistent'", Integer.class));
+    }
+
+    @Test
+    @DisplayName("Should add a new category in the caller's transaction and forget it when that rolls back")
+    void addsInCallersTransaction() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.executeWithoutResult(status -> {
+            int key = categoryDictionary.resolve("Rolled back");
+            assertEquals(key, categoryDictionary.find("Rolled back").orElseThrow());
+            status.setRollbackOnly();
+        });
+        assertTrue(categoryDictionary.find("Rolled back").isEmpty());
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM category WHERE name = 'Rolled back'", Integer.class));
+
+        int key = transaction.execute(status -> categoryDictionary.resolve("Committed"));
+        assertEquals(key, categoryDictionary.resolve("Committed"));
+        assertEquals("Committed", categoryDictionary.nameOf(key));
+    }
+
+    @Test
+    @DisplayName("Should sort and page by category name, not by key")
+    void sortsByName() {
+        // Keys are handed out in creation order, the reverse of the names
+        create("Zither", "Sort C");
+        create("Yoyo", "Sort B");
+        create("Xylophone", "Sort A");
+        ProductFilterDTO filter = new ProductFilterDTO(null, List.of("Sort A", "Sort B", "Sort C"), null);
+
+        assertEquals(List.of("Sort A", "Sort B", "Sort C"), productService.getAllProducts(
+                filter, PageRequest.of(0, 10, Sort.by("category"))).map(ProductResponseDTO::getCategory).getContent());
+
+        List<String> paged = new ArrayList<>();
+        ProductSliceDTO slice = productService.getProductsAfterCursor(filter, null, PageRequest.of(0, 1, Sort.by("category")));
+        paged.add(slice.getContent().get(0).getCategory());
+        while (slice.isHasNext()) {
+            slice = productService.getProductsAfterCursor(filter, slice.getNextCursor(), PageRequest.of(0, 1));
+            paged.add(slice.getContent().get(0).getCategory());
+        }
+        assertEquals(List.of("Sort A", "Sort B", "Sort C"), paged);
+    }
+
+    @Test
+    @DisplayName("Should move existing category names into the dictionary when migrating")
+    void migratesExistingRows() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:categorymigration;DB_CLOSE_DELAY=-1", "sa", "");
+        migrate(dataSource, "4");
+        JdbcTemplate legacy = new JdbcTemplate(dataSource);
+        legacy.update("INSERT INTO product_model (id, name, category, unit_price, stock_quantity) VALUES "
+                + "(1, 'Pen', 'Office', 1.00, 5), (2, 'Ink', 'Office', 2.00, 0), (3, 'Tea', 'Food', 3.00, 1)");
+
+        migrate(dataSource, "latest");
+
+        assertEquals(List.of("Food", "Office"),
+                legacy.queryForList("SELECT name FROM category ORDER BY id", String.class));
+        assertEquals(List.of("Office", "Office", "Food"), legacy.queryForList(
+                "SELECT c.name FROM product_model p JOIN category c ON c.id = p.category_id ORDER BY p.id", String.class));
+    }
+}
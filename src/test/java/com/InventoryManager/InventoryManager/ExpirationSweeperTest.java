@@ -0,0 +1,98 @@
+package com.InventoryManager.InventoryManager;
+
+import com.InventoryManager.InventoryManager.dto.ProductFilterDTO;
+import com.InventoryManager.InventoryManager.dto.ProductRequestDTO;
+import com.InventoryManager.InventoryManager.dto.ProductResponseDTO;
+import com.InventoryManager.InventoryManager.service.ExpirationSweeper;
+import com.InventoryManager.InventoryManager.service.ProductService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:sweeptest",
+        "inventory.expiry.sweep-enabled=false",
+        "inventory.expiry.sweep-batch-size=2"
+})
+public class ExpirationSweeperTest {
+    private static final LocalDate DAY = LocalDate.of(2025, 1, 10);
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ExpirationSweeper expirationSweeper;
+
+    private Long create(String name, String category, LocalDate expirationDate, int stock) {
+        return productService.createProduct(
+                new ProductRequestDTO(name, category, new BigDecimal("2.00"), expirationDate, stock)).getId();
+    }
+
+    private int stock(Long id) {
+        return productService.getProductById(id).getStockQuantity();
+    }
+
+    @Test
+    @DisplayName("Should zero expired stock one due bucket at a time and keep the category aggregates in step")
+    void sweepsDueBuckets() {
+        Long expired1 = create("Milk", "Dairy", DAY.minusDays(3), 5);
+        Long expired2 = create("Cream", "Dairy", DAY.minusDays(1), 2);
+        Long expired3 = create("Butter", "Dairy", DAY.minusDays(1), 4);
+        Long dueTomorrow = create("Cheese", "Dairy", DAY, 3);
+        Long neverExpires = create("Salt", "Dairy", null, 7);
+        stock(expired1);
+
+        // Batches of two: the catch-up run takes two statements for the three expired products
+        assertEquals(3, expirationSweeper.sweep(DAY));
+        assertEquals(0, stock(expired1));
+        assertEquals(0, stock(expired2));
+        assertEquals(0, stock(expired3));
+        assertEquals(3, stock(dueTomorrow));
+        assertEquals(10, productService.getTotalProductsInStockInCategory("Dairy"));
+
+        assertEquals(0, expirationSweeper.sweep(DAY));
+        assertEquals(1, expirationSweeper.sweep(DAY.plusDays(1)));
+        assertEquals(0, stock(dueTomorrow));
+        assertEquals(7, stock(neverExpires));
+        assertEquals(7, productService.getTotalProductsInStockInCategory("Dairy"));
+
+        // A product written into a bucket that was already swept is picked up by the next run
+        Long late = create("Yogurt", "Dairy", DAY.minusDays(5), 6);
+        assertEquals(1, expirationSweeper.sweep(DAY.plusDays(1)));
+        assertEquals(0, stock(late));
+        assertEquals(7, productService.getTotalProductsInStockInCategory("Dairy"));
+    }
+
+    @Test
+    @DisplayName("Should filter listings by expiry range and by expired")
+    void expiryFilters() {
+        LocalDate today = LocalDate.now();
+        Long thisWeek = create("Bread", "Bakery", today.plusDays(3), 1);
+        Long nextMonth = create("Flour", "Bakery", today.plusDays(30), 1);
+        Long lastWeek = create("Cake", "Bakery", today.minusDays(7), 1);
+        Long never = create("Sugar", "Bakery", null, 1);
+        List<String> bakery = List.of("Bakery");
+        PageRequest byId = PageRequest.of(0, 10, Sort.by("id"));
+
+        assertEquals(List.of(thisWeek), ids(new ProductFilterDTO(null, bakery, null, today, today.plusDays(7), null), byId));
+        assertEquals(List.of(thisWeek, nextMonth), ids(new ProductFilterDTO(null, bakery, null, today, null, null), byId));
+        assertEquals(List.of(lastWeek), ids(new ProductFilterDTO(null, bakery, null, null, null, true), byId));
+        assertEquals(List.of(thisWeek, nextMonth, never), ids(new ProductFilterDTO(null, bakery, null, null, null, false), byId));
+        assertEquals(List.of(lastWeek), productService.getProductsAfterCursor(
+                new ProductFilterDTO(null, bakery, null, null, today, null), null, byId)
+                .getContent().stream().map(ProductResponseDTO::getId).toList());
+    }
+
+    private List<Long> ids(ProductFilterDTO filter, PageRequest pageable) {
+        return productService.getAllProducts(filter, pageable).map(ProductResponseDTO::getId).getContent();
+    }
+}
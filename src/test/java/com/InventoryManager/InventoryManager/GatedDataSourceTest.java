@@ -0,0 +1,99 @@
+package com.InventoryManager.InventoryManager;
+
+import com.InventoryManager.InventoryManager.config.GatedDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class GatedDataSourceTest {
+    private DataSource target;
+    private SimpleMeterRegistry registry;
+    private GatedDataSource gate;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        target = mock(DataSource.class);
+        when(target.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+        registry = new SimpleMeterRegistry();
+        gate = new GatedDataSource(target, 2, Duration.ofMillis(100));
+        gate.bindTo(registry);
+    }
+
+    private double gauge(String name) {
+        return registry.get(name).gauge().value();
+    }
+
+    @Test
+    @DisplayName("Should reject callers beyond the permit count once the wait expires")
+    void rejectsWhenFull() throws Exception {
+        Connection first = gate.getConnection();
+        Connection second = gate.getConnection();
+        assertEquals(2, gauge("inventory.db.gate.active"));
+
+        assertThrows(SQLTransientConnectionException.class, gate::getConnection);
+        assertEquals(1, registry.get("inventory.db.gate.rejected").counter().count());
+        verify(target, times(2)).getConnection();
+
+        first.close();
+        second.close();
+        assertEquals(0, gauge("inventory.db.gate.active"));
+    }
+
+    @Test
+    @DisplayName("Should hand a permit to a queued caller when a connection is closed")
+    void queuedCallerProceeds() throws Exception {
+        gate = new GatedDataSource(target, 1, Duration.ofSeconds(5));
+        gate.bindTo(registry = new SimpleMeterRegistry());
+        Connection held = gate.getConnection();
+
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            CompletableFuture<Connection> waiting = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return gate.getConnection();
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            }, executor);
+            while (gauge("inventory.db.gate.queued") == 0) {
+                Thread.onSpinWait();
+            }
+
+            held.close();
+            waiting.get(5, TimeUnit.SECONDS).close();
+        }
+        assertEquals(0, gauge("inventory.db.gate.queued"));
+        assertEquals(2, registry.get("inventory.db.gate.wait").timer().count());
+    }
+
+    @Test
+    @DisplayName("Should release the permit only once when a connection is closed twice")
+    void doubleCloseReleasesOnce() throws Exception {
+        Connection connection = gate.getConnection();
+        connection.close();
+        connection.close();
+
+        gate.getConnection();
+        gate.getConnection();
+        assertThrows(SQLTransientConnectionException.class, gate::getConnection);
+    }
+
+    @Test
+    @DisplayName("Should give the permit back when the pool fails to connect")
+    void releasesOnConnectFailure() throws Exception {
+        when(target.getConnection()).thenThrow(new SQLTransientConnectionException("pool timeout"));
+        assertThrows(SQLTransientConnectionException.class, gate::getConnection);
+        assertEquals(0, gauge("inventory.db.gate.active"));
+    }
+}
@@ -0,0 +1,80 @@
+package com.InventoryManager.InventoryManager;
+
+import com.InventoryManager.InventoryManager.dto.BulkItemResultDTO;
+import com.InventoryManager.InventoryManager.dto.BulkProductOperationDTO;
+import com.InventoryManager.InventoryManager.dto.BulkProductOperationDTO.Action;
+import com.InventoryManager.InventoryManager.dto.BulkResultDTO;
+import com.InventoryManager.InventoryManager.dto.ProductRequestDTO;
+import com.InventoryManager.InventoryManager.repository.ProductRepository;
+import com.InventoryManager.InventoryManager.service.ProductBulkService;
+import com.InventoryManager.InventoryManager.service.ProductService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:bulktest",
+        "inventory.bulk.chunk-size=3"
+})
+public class ProductBulkServiceTest {
+    @Autowired
+    private ProductBulkService productBulkService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    private static BulkProductOperationDTO create(String name, String category, int stock) {
+        return new BulkProductOperationDTO(Action.CREATE, null,
+                new ProductRequestDTO(name, category, new BigDecimal("2.50"), null, stock));
+    }
+
+    @Test
+    @DisplayName("Should apply a mixed batch and report a result per item")
+    void applyMixedBatch() {
+        long before = productRepository.count();
+        BulkResultDTO created = productBulkService.apply(List.of(
+                create("Bulk 1", "BulkCategory", 4),
+                create("Bulk 2", "BulkCategory", 6),
+                create("", "BulkCategory", -1),
+                create("Bulk 3", "BulkCategory", 1)).iterator());
+
+        assertEquals(4, created.getTotal());
+        assertEquals(3, created.getSucceeded());
+        assertEquals(400, created.getResults().get(2).getStatus());
+        assertEquals(before + 3, productRepository.count());
+        assertEquals(11, productService.getTotalProductsInStockInCategory("BulkCategory"));
+
+        Long firstId = created.getResults().get(0).getId();
+        Long secondId = created.getResults().get(1).getId();
+        BulkResultDTO changed = productBulkService.apply(List.of(
+                new BulkProductOperationDTO(Action.UPDATE, firstId,
+                        new ProductRequestDTO("Bulk 1", "BulkCategory", new BigDecimal("2.50"), null, 10)),
+                new BulkProductOperationDTO(Action.DELETE, secondId, null),
+                new BulkProductOperationDTO(Action.DELETE, -1L, null)).iterator());
+
+        assertEquals(List.of(200, 204, 404), changed.getResults().stream().map(BulkItemResultDTO::getStatus).toList());
+        assertFalse(productRepository.existsById(secondId));
+        assertEquals(11, productService.getTotalProductsInStockInCategory("BulkCategory"));
+    }
+
+    @Test
+    @DisplayName("Should isolate a row rejected by the database without failing the rest of its chunk")
+    void applyChunkWithDatabaseFailure() {
+        BulkResultDTO result = productBulkService.apply(List.of(
+                create("Good 1", "ReplayCategory", 1),
+                create("Too long", "x".repeat(300), 1),
+                create("Good 2", "ReplayCategory", 1)).iterator());
+
+        assertEquals(List.of(201, 409, 201), result.getResults().stream().map(BulkItemResultDTO::getStatus).toList());
+        assertEquals(2, productService.getTotalProductsInStockInCategory("ReplayCategory"));
+    }
+}
@@ -0,0 +1,95 @@
+package com.InventoryManager.InventoryManager;
+
+import com.InventoryManager.InventoryManager.dto.BulkProductOperationDTO;
+import com.InventoryManager.InventoryManager.dto.BulkProductOperationDTO.Action;
+import com.InventoryManager.InventoryManager.dto.BulkResultDTO;
+import com.InventoryManager.InventoryManager.dto.ProductRequestDTO;
+import com.InventoryManager.InventoryManager.service.ProductBulkService;
+import com.InventoryManager.InventoryManager.service.ProductService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares the bulk endpoint's chunked, JDBC-batched writes with one createProduct call per row, and reports how many
+ * concurrent stock adjustments a single product takes.
+ * Run with {@code mvn test -Dtest=ProductBulkThroughputTest -Dbenchmark=true [-Dbenchmark.rows=20000]}.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:bulkbenchmark")
+public class ProductBulkThroughputTest {
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductBulkService productBulkService;
+
+    private static ProductRequestDTO product(int i) {
+        return new ProductRequestDTO("Benchmark " + i, "Category " + (i % 20), new BigDecimal("9.99"), null, i % 100);
+    }
+
+    @Test
+    @DisplayName("Bulk create throughput against single saves")
+    void compareThroughput() {
+        int rows = Integer.getInteger("benchmark.rows", 20_000);
+
+        long singleStart = System.nanoTime();
+        for (int i = 0; i < rows; i++) {
+            productService.createProduct(product(i));
+        }
+        double singleSeconds = (System.nanoTime() - singleStart) / 1e9;
+
+        List<BulkProductOperationDTO> operations = IntStream.range(0, rows)
+                .mapToObj(i -> new BulkProductOperationDTO(Action.CREATE, null, product(i)))
+                .toList();
+        long bulkStart = System.nanoTime();
+        BulkResultDTO result = productBulkService.apply(operations.iterator());
+        double bulkSeconds = (System.nanoTime() - bulkStart) / 1e9;
+
+        assertEquals(rows, result.getSucceeded());
+        System.out.printf("single save: %d rows in %.2fs (%.0f rows/s)%n", rows, singleSeconds, rows / singleSeconds);
+        System.out.printf("bulk:        %d rows in %.2fs (%.0f rows/s)%n", rows, bulkSeconds, rows / bulkSeconds);
+    }
+
+    @Test
+    @DisplayName("Concurrent stock adjustment throughput on one product")
+    void stockAdjustThroughput() throws Exception {
+        int threads = 8;
+        int operationsPerThread = Integer.getInteger("benchmark.rows", 20_000) / threads;
+        Long id = productService.createProduct(product(0)).getId();
+        int initialStock = productService.getProductById(id).getStockQuantity();
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            long start = System.nanoTime();
+            List<Future<?>> futures = IntStream.range(0, threads)
+                    .<Future<?>>mapToObj(t -> executor.submit(() -> {
+                        for (int i = 0; i < operationsPerThread; i++) {
+                            productService.adjustStock(id, 1);
+                        }
+                    }))
+                    .toList();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            int operations = threads * operationsPerThread;
+            assertEquals(initialStock + operations, productService.getProductById(id).getStockQuantity());
+            System.out.printf("stock adjust: %d ops in %.2fs (%.0f ops/s)%n", operations, seconds, operations / seconds);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
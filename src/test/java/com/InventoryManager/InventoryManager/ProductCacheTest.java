@@ -0,0 +1,109 @@
+package com.InventoryManager.InventoryManager;
+
+import com.InventoryManager.InventoryManager.config.CacheConfig;
+import com.InventoryManager.InventoryManager.dto.BulkProductOperationDTO;
+import com.InventoryManager.InventoryManager.dto.BulkProductOperationDTO.Action;
+import com.InventoryManager.InventoryManager.dto.ProductException;
+import com.InventoryManager.InventoryManager.dto.ProductRequestDTO;
+import com.InventoryManager.InventoryManager.dto.ProductResponseDTO;
+import com.InventoryManager.InventoryManager.service.ProductBulkService;
+import com.InventoryManager.InventoryManager.service.ProductService;
+import com.github.benmanes.caffeine.cache.Cache;
+import jakarta.validation.ConstraintViolationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:cachetest")
+@AutoConfigureMockMvc
+public class ProductCacheTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductBulkService productBulkService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private Cache<Object, Object> nativeCache;
+    private Long id;
+
+    @BeforeEach
+    void setUp() {
+        nativeCache = ((CaffeineCache) cacheManager.getCache(CacheConfig.PRODUCTS_CACHE)).getNativeCache();
+        id = productService.createProduct(new ProductRequestDTO("Cached", "Cache", new BigDecimal("3.00"), null, 5)).getId();
+    }
+
+    @Test
+    @DisplayName("Should serve repeated lookups from the cache")
+    void readThrough() {
+        long hits = nativeCache.stats().hitCount();
+        long misses = nativeCache.stats().missCount();
+
+        ProductResponseDTO first = productService.getProductById(id);
+        ProductResponseDTO second = productService.getProductById(id);
+
+        // Each caller gets its own copy, so changing one leaves the cached product alone
+        assertNotSame(first, second);
+        assertEquals(first, second);
+        second.setName("Changed by a caller");
+        assertEquals("Cached", productService.getProductById(id).getName());
+        assertEquals(misses + 1, nativeCache.stats().missCount());
+        assertEquals(hits + 2, nativeCache.stats().hitCount());
+    }
+
+    @Test
+    @DisplayName("Should refresh cached products on every write path")
+    void invalidation() {
+        productService.getProductById(id);
+
+        productService.markInStock(id, 9);
+        assertEquals(9, productService.getProductById(id).getStockQuantity());
+
+        productService.markOutOfStock(id);
+        assertEquals(0, productService.getProductById(id).getStockQuantity());
+
+        productService.updateProduct(id, new ProductRequestDTO("Renamed", "Cache", new BigDecimal("3.00"), null, 2));
+        assertEquals("Renamed", productService.getProductById(id).getName());
+
+        productBulkService.apply(List.of(new BulkProductOperationDTO(Action.UPDATE, id,
+                new ProductRequestDTO("Bulk renamed", "Cache", new BigDecimal("3.00"), null, 2))).iterator());
+        assertEquals("Bulk renamed", productService.getProductById(id).getName());
+
+        productService.deleteProduct(id);
+        assertThrows(ProductException.class, () -> productService.getProductById(id));
+    }
+
+    @Test
+    @DisplayName("Should reject prices with fractions of a cent instead of rounding them")
+    void rejectsFractionsOfCents() throws Exception {
+        mockMvc.perform(post("/api/products").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Rounded\",\"category\":\"CachePrices\",\"unitPrice\":1.005,\"stockQuantity\":1}"))
+                .andExpect(status().isBadRequest());
+        assertThrows(ConstraintViolationException.class, () -> productService.updateProduct(id,
+                new ProductRequestDTO("Cached", "Cache", new BigDecimal("3.001"), null, 5)));
+        assertEquals(new BigDecimal("3.00"), productService.getProductById(id).getUnitPrice());
+
+        // Trailing zeros are not extra precision, and the price is kept at two decimals
+        Long other = productService.createProduct(new ProductRequestDTO("Whole", "CachePrices", new BigDecimal("1.500"), null, 1)).getId();
+        assertEquals(new BigDecimal("1.50"), productService.getProductById(other).getUnitPrice());
+    }
+}
@@ -0,0 +1,122 @@
+package com.InventoryManager.InventoryManager;
+
+import com.InventoryManager.InventoryManager.dto.ProductFilterDTO;
+import com.InventoryManager.InventoryManager.dto.ProductPatchDTO;
+import com.InventoryManager.InventoryManager.dto.ProductRequestDTO;
+import com.InventoryManager.InventoryManager.dto.ProductResponseDTO;
+import com.InventoryManager.InventoryManager.repository.ProductRepository;
+import com.InventoryManager.InventoryManager.service.ProductCatalogEngine;
+import com.InventoryManager.InventoryManager.service.ProductService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:catalogenginetest",
+        "inventory.catalog-engine.enabled=true",
+        "inventory.seed.products=3000",
+        "inventory.seed.categories=10",
+        "inventory.seed.seed=11",
+        "inventory.seed.base-date=2025-06-01",
+        "inventory.expiry.sweep-enabled=false"
+})
+public class ProductCatalogEngineTest {
+    private static final List<ProductFilterDTO> FILTERS = List.of(
+            new ProductFilterDTO(),
+            new ProductFilterDTO("apple", null, null),
+            new ProductFilterDTO("LAMP 1", null, null),
+            new ProductFilterDTO("ed", List.of("Books", "Toys"), null),
+            new ProductFilterDTO(null, List.of("Books", "Toys"), null),
+            new ProductFilterDTO(null, List.of("Garden", "Unknown"), true),
+            new ProductFilterDTO(null, null, false),
+            new ProductFilterDTO("deluxe", List.of("Electronics"), true),
+            new ProductFilterDTO(null, null, null, LocalDate.of(2025, 7, 1), LocalDate.of(2025, 12, 31), null),
+            new ProductFilterDTO(null, List.of("Office"), null, LocalDate.of(2026, 1, 1), null, null),
+            new ProductFilterDTO(null, null, true, null, null, true),
+            new ProductFilterDTO(null, null, null, null, null, false));
+    private static final List<Sort> SORTS = List.of(
+            Sort.by("id"),
+            Sort.by(Sort.Direction.DESC, "id"),
+            Sort.by("name").and(Sort.by("id")),
+            Sort.by(Sort.Direction.DESC, "name", "id"),
+            Sort.by("category").and(Sort.by("id")),
+            Sort.by(Sort.Direction.DESC, "unitPrice", "id"),
+            Sort.by("stockQuantity").and(Sort.by("id")));
+
+    @Autowired
+    private ProductCatalogEngine productCatalogEngine;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    // Every filter, sort and a few pages, from the engine and from the database with the same explicit id tiebreak
+    private void assertMatchesDatabase() {
+        assertTrue(productCatalogEngine.isReady());
+        for (ProductFilterDTO filter : FILTERS) {
+            for (Sort sort : SORTS) {
+                for (int page : new int[]{0, 3, 40, 400}) {
+                    Pageable pageable = PageRequest.of(page, 7, sort);
+                    Page<ProductResponseDTO> expected = productRepository.findResponsesByFilters(filter, pageable);
+                    Page<ProductResponseDTO> actual = productCatalogEngine.find(filter, pageable).orElseThrow();
+                    String context = filter + " " + sort + " page " + page;
+                    assertEquals(expected.getTotalElements(), actual.getTotalElements(), context);
+                    assertEquals(expected.getContent(), actual.getContent(), context);
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should answer every filter, sort and page exactly like the database, also after writes")
+    void matchesDatabase() {
+        assertMatchesDatabase();
+
+        ProductResponseDTO created = productService.createProduct(new ProductRequestDTO(
+                "Red Apple Crate", "Groceries", new BigDecimal("12.30"), LocalDate.of(2025, 8, 1), 3));
+        productService.createProduct(new ProductRequestDTO("Aardvark Lamp", "Toys", new BigDecimal("0.99"), null, 0));
+        ProductPatchDTO patch = new ProductPatchDTO();
+        patch.setName("Zebra Deluxe Lamp");
+        patch.setCategory("Books");
+        patch.setStockQuantity(0);
+        patch.setVersion(created.getVersion());
+        productService.patchProduct(created.getId(), patch);
+        Page<ProductResponseDTO> firstPage = productRepository.findResponsesByFilters(
+                new ProductFilterDTO(), PageRequest.of(0, 3, Sort.by("id")));
+        productService.adjustStock(firstPage.getContent().get(0).getId(), 25);
+        productService.markOutOfStock(firstPage.getContent().get(1).getId());
+        productService.deleteProduct(firstPage.getContent().get(2).getId());
+
+        assertMatchesDatabase();
+    }
+
+    @Test
+    @DisplayName("Should leave filters it cannot answer exactly to the database")
+    void declinesUnsupportedQueries() {
+        ProductFilterDTO none = new ProductFilterDTO();
+        assertEquals(Optional.empty(), productCatalogEngine.find(new ProductFilterDTO("a%b", null, null), PageRequest.of(0, 10)));
+        assertEquals(Optional.empty(), productCatalogEngine.find(none, Pageable.unpaged()));
+        assertEquals(Optional.empty(), productCatalogEngine.find(none, PageRequest.of(0, 10, Sort.by("expirationDate"))));
+        assertEquals(Optional.empty(), productCatalogEngine.find(none, PageRequest.of(0, 10, Sort.by("category", "name"))));
+        assertEquals(Optional.empty(), productCatalogEngine.find(none,
+                PageRequest.of(0, 10, Sort.by("name").and(Sort.by(Sort.Direction.DESC, "id")))));
+        assertEquals(Optional.empty(), productCatalogEngine.find(none, PageRequest.of(0, 10, Sort.by(Sort.Order.asc("name").ignoreCase()))));
+
+        assertEquals(productCatalogEngine.find(none, PageRequest.of(1, 10, Sort.by("name"))).orElseThrow(),
+                productService.getAllProducts(none, PageRequest.of(1, 10, Sort.by("name"))));
+    }
+}
@@ -0,0 +1,119 @@
+package com.InventoryManager.InventoryManager;
+
+import com.InventoryManager.InventoryManager.dto.ProductChangeDTO;
+import com.InventoryManager.InventoryManager.dto.ProductChangeDTO.Type;
+import com.InventoryManager.InventoryManager.dto.ProductChangesDTO;
+import com.InventoryManager.InventoryManager.dto.ProductException;
+import com.InventoryManager.InventoryManager.dto.ProductRequestDTO;
+import com.InventoryManager.InventoryManager.service.ProductChangeFeed;
+import com.InventoryManager.InventoryManager.service.ProductService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:changetest",
+        "inventory.expiry.sweep-enabled=false",
+        "inventory.changes.buffer-size=8"
+})
+public class ProductChangeFeedTest {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductChangeFeed productChangeFeed;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private ProductRequestDTO request(String name, int stock) {
+        return new ProductRequestDTO(name, "Produce", new BigDecimal("1.50"), LocalDate.of(2030, 1, 1), stock);
+    }
+
+    @Test
+    @DisplayName("Should record every mutation in order and resume after a given sequence")
+    void recordsMutationsInOrder() throws InterruptedException {
+        long start = productChangeFeed.latestSequence();
+        Long id = productService.createProduct(request("Apple", 4)).getId();
+        productService.updateProduct(id, request("Green Apple", 4));
+        productService.markOutOfStock(id);
+        productService.deleteProduct(id);
+
+        ProductChangesDTO result = productChangeFeed.await(start, 100, Duration.ZERO);
+        assertFalse(result.isReset());
+        assertEquals(List.of(Type.CREATED, Type.UPDATED, Type.STOCK, Type.DELETED),
+                result.getChanges().stream().map(ProductChangeDTO::getType).toList());
+        assertTrue(result.getChanges().stream().allMatch(change -> id.equals(change.getProductId())));
+        assertEquals("Green Apple", result.getChanges().get(1).getProduct().getName());
+        assertNull(result.getChanges().get(3).getProduct());
+        assertEquals(start + 4, result.getLastSequence());
+
+        ProductChangesDTO resumed = productChangeFeed.await(start + 2, 100, Duration.ZERO);
+        assertEquals(List.of(Type.STOCK, Type.DELETED),
+                resumed.getChanges().stream().map(ProductChangeDTO::getType).toList());
+    }
+
+    @Test
+    @DisplayName("Should only publish a change once its transaction commits")
+    void publishesAfterCommit() throws InterruptedException {
+        long start = productChangeFeed.latestSequence();
+        transactionTemplate.executeWithoutResult(status -> {
+            productService.createProduct(request("Pear", 2));
+            assertEquals(start, productChangeFeed.latestSequence());
+        });
+        assertEquals(start + 1, productChangeFeed.latestSequence());
+
+        transactionTemplate.executeWithoutResult(status -> {
+            productService.createProduct(request("Plum", 2));
+            status.setRollbackOnly();
+        });
+        assertEquals(start + 1, productChangeFeed.latestSequence());
+    }
+
+    @Test
+    @DisplayName("Should wake a waiting long-poll on the next change")
+    void longPollWakesUp() throws Exception {
+        long start = productChangeFeed.latestSequence();
+        CompletableFuture<ProductChangesDTO> poll = CompletableFuture.supplyAsync(
+                () -> productChangeFeed.poll(start, 30, 10));
+        Thread.sleep(100);
+        Long id = productService.createProduct(request("Cherry", 9)).getId();
+
+        ProductChangesDTO result = poll.get();
+        assertEquals(1, result.getChanges().size());
+        assertEquals(id, result.getChanges().get(0).getProductId());
+        assertEquals(start + 1, result.getLastSequence());
+    }
+
+    @Test
+    @DisplayName("Should reset a reader that fell behind the buffer and reject out-of-range polls")
+    void resetsReaderBehindBuffer() throws InterruptedException {
+        long start = productChangeFeed.latestSequence();
+        for (int i = 0; i < 10; i++) {
+            productService.createProduct(request("Grape " + i, 1));
+        }
+
+        ProductChangesDTO behind = productChangeFeed.await(start, 100, Duration.ZERO);
+        assertTrue(behind.isReset());
+        assertEquals(8, behind.getChanges().size());
+        assertEquals(start + 3, behind.getChanges().get(0).getSequence());
+        assertEquals(start + 10, behind.getLastSequence());
+
+        // A sequence from a previous run, ahead of this one, resets as well
+        assertTrue(productChangeFeed.await(start + 1000, 100, Duration.ZERO).isReset());
+
+        assertThrows(ProductException.class, () -> productChangeFeed.poll(null, 61, 10));
+        assertThrows(ProductException.class, () -> productChangeFeed.poll(null, 1, 0));
+    }
+}
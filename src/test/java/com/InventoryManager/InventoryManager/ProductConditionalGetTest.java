@@ -0,0 +1,123 @@
+package com.InventoryManager.InventoryManager;
+
+import com.InventoryManager.InventoryManager.config.CacheConfig;
+import com.InventoryManager.InventoryManager.dto.ProductRequestDTO;
+import com.InventoryManager.InventoryManager.dto.ProductResponseDTO;
+import com.InventoryManager.InventoryManager.service.ProductService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:etagtest",
+        "inventory.expiry.sweep-enabled=false"
+})
+@AutoConfigureMockMvc
+public class ProductConditionalGetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private Long create(String name) {
+        return productService.createProduct(new ProductRequestDTO(
+                name, "Tools", new BigDecimal("12.00"), LocalDate.of(2030, 1, 1), 3)).getId();
+    }
+
+    private String etag(String url) throws Exception {
+        String etag = mockMvc.perform(get(url)).andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag);
+        return etag;
+    }
+
+    @Test
+    @DisplayName("Should answer a single product with 304 until that product changes")
+    void productNotModified() throws Exception {
+        Long id = create("Hammer");
+        Long other = create("Wrench");
+        String url = "/api/products/" + id;
+        String etag = etag(url);
+        // Weak, since JSON, CBOR and Smile bodies of the product share it
+        assertTrue(etag.startsWith("W/"));
+
+        mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, etag)).andExpect(status().isNotModified());
+
+        // A write to another product leaves this one's tag alone
+        productService.adjustStock(other, 1);
+        mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, etag)).andExpect(status().isNotModified());
+
+        productService.adjustStock(id, 2);
+        mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, etag)).andExpect(status().isOk());
+        assertNotEquals(etag, etag(url));
+    }
+
+    @Test
+    @DisplayName("Should tag each field selection separately and answer it with 304 until the product changes")
+    void sparseNotModified() throws Exception {
+        Long id = create("Pliers");
+        String sparse = "/api/products/" + id + "?fields=name,stockQuantity";
+        String etag = etag(sparse);
+        assertNotEquals(etag, etag("/api/products/" + id));
+
+        mockMvc.perform(get(sparse).header(HttpHeaders.IF_NONE_MATCH, etag)).andExpect(status().isNotModified());
+        productService.deleteProduct(id);
+        mockMvc.perform(get(sparse).header(HttpHeaders.IF_NONE_MATCH, etag)).andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("Should not tag a cached product that lags a recorded change with that change's version")
+    void staleCachedProductReloaded() throws Exception {
+        Long id = create("Chisel");
+        String url = "/api/products/" + id;
+        etag(url);
+        Cache cache = cacheManager.getCache(CacheConfig.PRODUCTS_CACHE);
+        ProductResponseDTO stale = cache.get(id, ProductResponseDTO.class);
+        assertNotNull(stale);
+
+        // As if the refresh that follows the change had not reached the cache yet
+        productService.adjustStock(id, 2);
+        cache.put(id, stale);
+
+        mockMvc.perform(get(url)).andExpect(status().isOk()).andExpect(jsonPath("$.stockQuantity").value(5));
+        assertEquals(5, cache.get(id, ProductResponseDTO.class).getStockQuantity());
+    }
+
+    @Test
+    @DisplayName("Should give list pages and category metrics a catalog tag that any write changes")
+    void catalogNotModified() throws Exception {
+        Long id = create("Saw");
+        String list = "/api/products?category=Tools";
+        String metrics = "/api/products/categoryMetrics/Tools";
+        String listTag = etag(list);
+        String metricsTag = etag(metrics);
+        assertTrue(listTag.startsWith("W/"));
+        assertTrue(metricsTag.startsWith("W/"));
+
+        mockMvc.perform(get(list).header(HttpHeaders.IF_NONE_MATCH, listTag)).andExpect(status().isNotModified());
+        mockMvc.perform(get(metrics).header(HttpHeaders.IF_NONE_MATCH, metricsTag)).andExpect(status().isNotModified());
+
+        productService.markOutOfStock(id);
+        mockMvc.perform(get(list).header(HttpHeaders.IF_NONE_MATCH, listTag)).andExpect(status().isOk());
+        mockMvc.perform(get(metrics).header(HttpHeaders.IF_NONE_MATCH, metricsTag)).andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,82 @@
+package com.InventoryManager.InventoryManager;
+
+import com.InventoryManager.InventoryManager.dto.ProductFilterDTO;
+import com.InventoryManager.InventoryManager.dto.ProductRequestDTO;
+import com.InventoryManager.InventoryManager.repository.ProductRepository;
+import com.InventoryManager.InventoryManager.repository.ProductSpecifications;
+import com.InventoryManager.InventoryManager.service.ProductExportService;
+import com.InventoryManager.InventoryManager.service.ProductExportService.ExportFormat;
+import com.InventoryManager.InventoryManager.service.ProductService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:exporttest",
+        "inventory.export.fetch-size=7"
+})
+public class ProductExportServiceTest {
+    @Autowired
+    private ProductExportService productExportService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private String export(List<String> categories, Boolean inStock, ExportFormat format) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        productExportService.export(new ProductFilterDTO(null, categories, inStock), format, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    @DisplayName("Should stream every product as NDJSON in id order")
+    void exportNdjson() throws Exception {
+        String[] lines = export(null, null, ExportFormat.NDJSON).split("\n");
+
+        assertEquals(productRepository.count(), lines.length);
+        long previousId = 0;
+        for (String line : lines) {
+            long id = objectMapper.readTree(line).get("id").asLong();
+            assertTrue(id > previousId);
+            previousId = id;
+        }
+    }
+
+    @Test
+    @DisplayName("Should write nothing for an NDJSON export without products")
+    void exportEmptyNdjson() {
+        assertEquals("", export(List.of("No such category"), null, ExportFormat.NDJSON));
+    }
+
+    @Test
+    @DisplayName("Should apply the listing filters and quote CSV fields")
+    void exportCsvWithFilters() {
+        productService.createProduct(new ProductRequestDTO("Paper, \"A4\"", "Export", new BigDecimal("4.20"), null, 3));
+        productService.createProduct(new ProductRequestDTO("Empty box", "Export", new BigDecimal("1.00"), null, 0));
+
+        String[] lines = export(List.of("Export"), true, ExportFormat.CSV).split("\n");
+
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].startsWith("id,name,category"));
+        assertTrue(lines[1].contains(",\"Paper, \"\"A4\"\"\",Export,4.20,,3,"));
+        // The same row version the NDJSON rows carry
+        assertTrue(lines[0].endsWith(",inStock,version"));
+        assertTrue(lines[1].endsWith(",true,0"));
+        assertEquals(2, productRepository.count(ProductSpecifications.categoryIn(List.of("Export"))));
+    }
+}
@@ -0,0 +1,86 @@
+package com.InventoryManager.InventoryManager;
+
+import com.InventoryManager.InventoryManager.dto.ProductNameDTO;
+import com.InventoryManager.InventoryManager.service.ProductNameIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ProductNameIndexTest {
+    private ProductNameIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ProductNameIndex(3, 100);
+        index.rebuild(Stream.of(
+                new ProductNameDTO(1L, "Green Apple"),
+                new ProductNameDTO(2L, "Apple Juice"),
+                new ProductNameDTO(3L, "Pineapple"),
+                new ProductNameDTO(4L, "Banana"),
+                new ProductNameDTO(5L, "Ax")));
+    }
+
+    @Test
+    @DisplayName("Should find case-insensitive substrings and rank prefix matches first")
+    void search() {
+        assertEquals(List.of(2L, 3L, 1L), index.search("APPLE", 10));
+        assertEquals(List.of(2L), index.search("apple", 1));
+        assertEquals(List.of(4L), index.search("nan", 10));
+        assertEquals(List.of(), index.search("cherry", 10));
+    }
+
+    @Test
+    @DisplayName("Should search names and queries shorter than a trigram")
+    void searchShortQueries() {
+        assertEquals(List.of(5L), index.search("ax", 10));
+        assertEquals(Set.of(1L, 2L, 3L, 4L, 5L), Set.copyOf(index.search("a", 10)));
+    }
+
+    @Test
+    @DisplayName("Should follow renames and deletes")
+    void putAndRemove() {
+        index.put(4L, "Apple Pie");
+        index.remove(1L);
+
+        assertEquals(List.of(4L, 2L, 3L), index.search("apple", 10));
+        assertEquals(List.of(), index.search("banana", 10));
+        assertEquals(List.of(), index.search("green", 10));
+    }
+
+    @Test
+    @DisplayName("Should only answer the listing filter when it matches the SQL semantics exactly")
+    void matchingIds() {
+        assertEquals(Optional.of(Set.of(1L, 2L, 3L)), index.matchingIds("ppl"));
+        assertEquals(Optional.of(Set.of()), index.matchingIds("kiwi"));
+        assertEquals(Optional.empty(), index.matchingIds("ap"));
+        assertEquals(Optional.empty(), index.matchingIds("app%"));
+        assertEquals(Optional.empty(), index.matchingIds("a_p"));
+
+        index.put(6L, "Apple Cider");
+        assertEquals(Optional.empty(), index.matchingIds("apple"));
+    }
+
+    @Test
+    @DisplayName("Should stop verifying names once a query has more candidates than the cap")
+    void capsCandidates() {
+        ProductNameIndex capped = new ProductNameIndex(1000, 2);
+        capped.rebuild(Stream.of(
+                new ProductNameDTO(1L, "Apple"),
+                new ProductNameDTO(2L, "Apple Juice"),
+                new ProductNameDTO(3L, "Apple Pie"),
+                new ProductNameDTO(4L, "Kiwi")));
+
+        // Two of the three apples are verified, and the filter cannot know the rest, so it leaves them to the database
+        assertEquals(2, capped.search("a", 10).size());
+        assertEquals(2, capped.search("apple", 10).size());
+        assertEquals(Optional.empty(), capped.matchingIds("apple"));
+        assertEquals(Optional.of(Set.of(4L)), capped.matchingIds("kiwi"));
+    }
+}
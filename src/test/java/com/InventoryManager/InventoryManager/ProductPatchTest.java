@@ -0,0 +1,152 @@
+package com.InventoryManager.InventoryManager;
+
+import com.InventoryManager.InventoryManager.dto.ProductException;
+import com.InventoryManager.InventoryManager.dto.ProductPatchDTO;
+import com.InventoryManager.InventoryManager.dto.ProductRequestDTO;
+import com.InventoryManager.InventoryManager.dto.ProductResponseDTO;
+import com.InventoryManager.InventoryManager.model.ProductModel;
+import com.InventoryManager.InventoryManager.repository.ProductRepository;
+import com.InventoryManager.InventoryManager.service.ProductService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:patchtest")
+public class ProductPatchTest {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private ProductResponseDTO createProduct(String category) {
+        return productService.createProduct(new ProductRequestDTO("Orange", category, new BigDecimal("2.00"),
+                LocalDate.of(2099, 1, 1), 10));
+    }
+
+    private static ProductPatchDTO price(String unitPrice, Long version) {
+        ProductPatchDTO patch = new ProductPatchDTO();
+        patch.setUnitPrice(new BigDecimal(unitPrice));
+        patch.setVersion(version);
+        return patch;
+    }
+
+    @Test
+    @DisplayName("Should change only the patched fields and bump the version")
+    void patchesOnlyGivenFields() {
+        ProductResponseDTO created = createProduct("PatchFields");
+        assertEquals(0L, created.getVersion());
+
+        ProductResponseDTO patched = productService.patchProduct(created.getId(), price("2.50", created.getVersion()));
+
+        assertEquals(new BigDecimal("2.50"), patched.getUnitPrice());
+        assertEquals(1L, patched.getVersion());
+        ProductModel stored = productRepository.findUncachedById(created.getId()).orElseThrow();
+        assertEquals(new BigDecimal("2.50"), stored.getUnitPrice());
+        assertEquals("Orange", stored.getName());
+        assertEquals("PatchFields", stored.getCategory());
+        assertEquals(LocalDate.of(2099, 1, 1), stored.getExpirationDate());
+        assertEquals(10, stored.getStockQuantity());
+        assertEquals(1L, stored.getVersion());
+        assertEquals(patched, productService.getProductById(created.getId()));
+        assertEquals(new BigDecimal("25.00"), productService.getTotalValueInCategory("PatchFields"));
+    }
+
+    @Test
+    @DisplayName("Should clear the expiration date on an explicit null and keep it when absent")
+    void clearsExpirationDate() throws Exception {
+        ProductResponseDTO created = createProduct("PatchExpiry");
+
+        ProductResponseDTO renamed = productService.patchProduct(created.getId(), objectMapper.readValue(
+                "{\"name\": \"Blood orange\", \"version\": " + created.getVersion() + "}", ProductPatchDTO.class));
+        assertEquals(LocalDate.of(2099, 1, 1), renamed.getExpirationDate());
+
+        ProductResponseDTO cleared = productService.patchProduct(created.getId(), objectMapper.readValue(
+                "{\"expirationDate\": null, \"version\": " + renamed.getVersion() + "}", ProductPatchDTO.class));
+        assertNull(cleared.getExpirationDate());
+        assertEquals("Blood orange", cleared.getName());
+        assertNull(productRepository.findUncachedById(created.getId()).orElseThrow().getExpirationDate());
+
+        ProductException nullName = assertThrows(ProductException.class, () -> productService.patchProduct(created.getId(),
+                objectMapper.readValue("{\"name\": null, \"version\": " + cleared.getVersion() + "}", ProductPatchDTO.class)));
+        assertEquals(HttpStatus.BAD_REQUEST, nullName.getStatus());
+    }
+
+    @Test
+    @DisplayName("Should move a product between categories")
+    void patchesCategory() {
+        ProductResponseDTO created = createProduct("PatchFrom");
+        ProductPatchDTO patch = new ProductPatchDTO();
+        patch.setCategory("PatchTo");
+        patch.setStockQuantity(4);
+        patch.setVersion(created.getVersion());
+
+        productService.patchProduct(created.getId(), patch);
+
+        assertThrows(ProductException.class, () -> productService.getCategoryMetrics("PatchFrom"));
+        assertEquals(4, productService.getTotalProductsInStockInCategory("PatchTo"));
+        assertEquals("PatchTo", productRepository.findUncachedById(created.getId()).orElseThrow().getCategory());
+    }
+
+    @Test
+    @DisplayName("Should refuse a patch based on a stale version")
+    void rejectsStaleVersion() {
+        ProductResponseDTO created = createProduct("PatchStale");
+        productService.patchProduct(created.getId(), price("3.00", created.getVersion()));
+
+        assertThrows(OptimisticLockingFailureException.class,
+                () -> productService.patchProduct(created.getId(), price("4.00", created.getVersion())));
+        assertEquals(new BigDecimal("3.00"), productRepository.findUncachedById(created.getId()).orElseThrow().getUnitPrice());
+        assertEquals(new BigDecimal("30.00"), productService.getTotalValueInCategory("PatchStale"));
+    }
+
+    @Test
+    @DisplayName("Should treat a stock adjustment as a new version")
+    void stockAdjustmentBumpsVersion() {
+        ProductResponseDTO created = createProduct("PatchAfterStock");
+        ProductResponseDTO adjusted = productService.adjustStock(created.getId(), 5);
+        assertEquals(1L, adjusted.getVersion());
+
+        ProductPatchDTO stock = new ProductPatchDTO();
+        stock.setStockQuantity(0);
+        stock.setVersion(created.getVersion());
+        assertThrows(OptimisticLockingFailureException.class, () -> productService.patchProduct(created.getId(), stock));
+        assertEquals(15, productRepository.findUncachedById(created.getId()).orElseThrow().getStockQuantity());
+    }
+
+    @Test
+    @DisplayName("Should reject invalid patches and unknown products")
+    void rejectsInvalidPatches() {
+        ProductResponseDTO created = createProduct("PatchInvalid");
+
+        ProductException noVersion = assertThrows(ProductException.class,
+                () -> productService.patchProduct(created.getId(), price("1.00", null)));
+        assertEquals(HttpStatus.BAD_REQUEST, noVersion.getStatus());
+
+        ProductPatchDTO empty = new ProductPatchDTO();
+        empty.setVersion(created.getVersion());
+        ProductException nothing = assertThrows(ProductException.class, () -> productService.patchProduct(created.getId(), empty));
+        assertEquals(HttpStatus.BAD_REQUEST, nothing.getStatus());
+
+        ProductException negative = assertThrows(ProductException.class,
+                () -> productService.patchProduct(created.getId(), price("0.00", created.getVersion())));
+        assertEquals(HttpStatus.BAD_REQUEST, negative.getStatus());
+
+        ProductException missing = assertThrows(ProductException.class,
+                () -> productService.patchProduct(Long.MAX_VALUE, price("1.00", 0L)));
+        assertEquals(HttpStatus.NOT_FOUND, missing.getStatus());
+    }
+}
@@ -0,0 +1,69 @@
+package com.InventoryManager.InventoryManager;
+
+import com.InventoryManager.InventoryManager.dto.ProductFilterDTO;
+import com.InventoryManager.InventoryManager.dto.ProductRequestDTO;
+import com.InventoryManager.InventoryManager.dto.ProductResponseDTO;
+import com.InventoryManager.InventoryManager.repository.ProductRepository;
+import com.InventoryManager.InventoryManager.service.ProductMapper;
+import com.InventoryManager.InventoryManager.service.ProductService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:projectiontest",
+        "inventory.expiry.sweep-enabled=false"
+})
+public class ProductProjectionTest {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    @DisplayName("Should serve the same JSON as the entity path without loading a single entity")
+    void matchesEntityPath() throws Exception {
+        productService.createProduct(new ProductRequestDTO("Lantern", "Camping", new BigDecimal("24.90"), null, 0));
+        Long id = productService.createProduct(new ProductRequestDTO(
+                "Tent", "Camping", new BigDecimal("199.00"), LocalDate.of(2031, 5, 1), 4)).getId();
+        ProductFilterDTO filter = new ProductFilterDTO(null, List.of("Camping"), null);
+        PageRequest pageable = PageRequest.of(0, 10, Sort.by("name"));
+
+        Page<ProductResponseDTO> fromEntities = productRepository.findProductsByFilters(filter, pageable)
+                .map(ProductMapper::toProductResponseDTO);
+        ProductResponseDTO entity = ProductMapper.toProductResponseDTO(productRepository.findUncachedById(id).orElseThrow());
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        Page<ProductResponseDTO> projected = productService.getAllProducts(filter, pageable);
+        ProductResponseDTO byId = productRepository.findResponseById(id).orElseThrow();
+
+        assertEquals(objectMapper.writeValueAsString(fromEntities), objectMapper.writeValueAsString(projected));
+        assertEquals(objectMapper.writeValueAsString(entity), objectMapper.writeValueAsString(byId));
+        assertFalse(projected.getContent().get(0).isInStock());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(0, statistics.getSecondLevelCacheHitCount());
+    }
+}
@@ -0,0 +1,126 @@
+package com.InventoryManager.InventoryManager;
+
+import com.InventoryManager.InventoryManager.dto.ProductFilterDTO;
+import com.InventoryManager.InventoryManager.dto.ProductSliceDTO;
+import com.InventoryManager.InventoryManager.repository.ProductRepository;
+import com.InventoryManager.InventoryManager.service.ProductService;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the filter, keyset and aggregate queries exactly as Hibernate generates them through H2's EXPLAIN and fails
+ * when one of them stops using its index.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:plantest",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.InventoryManager.InventoryManager.ProductQueryPlanTest$RecordingInspector"
+})
+public class ProductQueryPlanTest {
+    private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+    public static class RecordingInspector implements StatementInspector {
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void clearStatements() {
+        STATEMENTS.clear();
+    }
+
+    private List<String> recordedSelects() {
+        List<String> selects = STATEMENTS.stream()
+                .filter(sql -> sql.trim().toLowerCase(Locale.ROOT).startsWith("select"))
+                .toList();
+        assertFalse(selects.isEmpty(), "No SELECT statements were recorded");
+        return selects;
+    }
+
+    private String plan(String sql) {
+        return jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class);
+    }
+
+    private void assertUsesIndex(String index) {
+        for (String sql : recordedSelects()) {
+            String plan = plan(sql);
+            assertFalse(plan.contains("tableScan"), () -> "Full scan for: " + sql + "\n" + plan);
+            assertTrue(plan.contains(index.toUpperCase(Locale.ROOT)), () -> "Expected " + index + " for: " + sql + "\n" + plan);
+        }
+    }
+
+    @Test
+    @DisplayName("Category filters use the category indexes")
+    void categoryFilter() {
+        productRepository.findResponsesByFilters(new ProductFilterDTO(null, List.of("Electronics", "Books"), null), PageRequest.of(1, 5));
+        assertUsesIndex("idx_product_category");
+    }
+
+    @Test
+    @DisplayName("Category and in-stock filters use the covering index")
+    void categoryAndStockFilter() {
+        productRepository.findResponsesByFilters(new ProductFilterDTO(null, List.of("Electronics"), true), PageRequest.of(1, 5, Sort.by("name")));
+        assertUsesIndex("idx_product_category_stock_price");
+    }
+
+    @Test
+    @DisplayName("Out-of-stock filters use the stock index")
+    void outOfStockFilter() {
+        productRepository.findResponsesByFilters(new ProductFilterDTO(null, null, false), PageRequest.of(1, 5));
+        assertUsesIndex("idx_product_stock_quantity_id");
+    }
+
+    @Test
+    @DisplayName("Expiry range filters use the expiration index")
+    void expiryFilter() {
+        productRepository.findResponsesByFilters(new ProductFilterDTO(null, null, null,
+                LocalDate.now(), LocalDate.now().plusDays(7), null), PageRequest.of(0, 5));
+        assertUsesIndex("idx_product_expiration_date_id");
+    }
+
+    @Test
+    @DisplayName("Category aggregates are read from the covering index")
+    void categoryAggregates() {
+        productRepository.getCategoryAggregates();
+        assertUsesIndex("idx_product_category_stock_price");
+    }
+
+    @Test
+    @DisplayName("Keyset pages seek through the (sort column, id) indexes")
+    void keysetPages() {
+        ProductSliceDTO first = productService.getProductsAfterCursor(new ProductFilterDTO(), null,
+                PageRequest.of(0, 3, Sort.by(Sort.Direction.DESC, "unitPrice")));
+        STATEMENTS.clear();
+        productService.getProductsAfterCursor(new ProductFilterDTO(), first.getNextCursor(), PageRequest.of(0, 3));
+        assertUsesIndex("idx_product_unit_price_id");
+
+        STATEMENTS.clear();
+        productService.getProductsAfterCursor(new ProductFilterDTO(), null, PageRequest.of(0, 3, Sort.by("name")));
+        assertUsesIndex("idx_product_name_id");
+    }
+}
@@ -1,27 +1,48 @@
 package com.InventoryManager.InventoryManager;
 
+import com.InventoryManager.InventoryManager.dto.CategoryAggregateDTO;
+import com.InventoryManager.InventoryManager.dto.CategoryMetricsDTO;
+import com.InventoryManager.InventoryManager.dto.CategoryMetricsSummaryDTO;
 import com.InventoryManager.InventoryManager.dto.ProductException;
+import com.InventoryManager.InventoryManager.dto.ProductFilterDTO;
+import com.InventoryManager.InventoryManager.dto.ProductNameDTO;
 import com.InventoryManager.InventoryManager.dto.ProductRequestDTO;
 import com.InventoryManager.InventoryManager.dto.ProductResponseDTO;
+import com.InventoryManager.InventoryManager.dto.ProductSliceDTO;
 import com.InventoryManager.InventoryManager.model.ProductModel;
 import com.InventoryManager.InventoryManager.repository.ProductRepository;
+import com.InventoryManager.InventoryManager.service.CategoryAggregateStore;
+import com.InventoryManager.InventoryManager.service.CategoryAggregateStore.Contribution;
+import com.InventoryManager.InventoryManager.service.CategoryDictionary;
+import com.InventoryManager.InventoryManager.service.ExpirationSweeper;
+import com.InventoryManager.InventoryManager.service.ProductCatalogEngine;
+import com.InventoryManager.InventoryManager.service.ProductCursor;
+import com.InventoryManager.InventoryManager.service.ProductNameIndex;
 import com.InventoryManager.InventoryManager.service.ProductService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpStatus;
 
 import java.awt.print.Pageable;
 import java.math.BigDecimal;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.mockito.Mockito.*;
 import static org.junit.jupiter.api.Assertions.*;
@@ -31,6 +52,27 @@ public class ProductServiceTest {
     @Mock
     private ProductRepository productRepository;
 
+    @Mock
+    private CategoryDictionary categoryDictionary;
+
+    @Spy
+    private CategoryAggregateStore categoryAggregateStore = new CategoryAggregateStore();
+
+    @Spy
+    private ProductNameIndex productNameIndex = new ProductNameIndex(1000, 20_000);
+
+    @Mock
+    private ExpirationSweeper expirationSweeper;
+
+    @Mock
+    private ProductCatalogEngine productCatalogEngine;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private ProductService productService;
 
@@ -82,31 +124,108 @@ public class ProductServiceTest {
         List<String> categories = Arrays.asList("Electronics");
         Boolean inStock = true;
 
-        when(productRepository.findProductsByFilters(name, categories, inStock, pageable)).thenReturn(mockPage);
-        Page<ProductResponseDTO> products = productService.getAllProducts(name, categories, inStock, pageable);
+        ProductFilterDTO filter = new ProductFilterDTO(name, categories, inStock);
+
+        when(productRepository.findResponsesByFilters(filter, pageable)).thenReturn(mockResponsePage);
+        Page<ProductResponseDTO> products = productService.getAllProducts(filter, pageable);
 
         assertNotNull(products);
         assertEquals(2, products.getTotalElements());
-        verify(productRepository, times(1)).findProductsByFilters(name, categories, inStock, pageable);
+        verify(productRepository, times(1)).findResponsesByFilters(filter, pageable);
+    }
+
+    @Test
+    @DisplayName("Should answer the name filter from the name index once it is loaded")
+    void getProductsWithIndexedName() {
+        when(productRepository.streamProductNames()).thenReturn(Stream.of(
+                new ProductNameDTO(1L, "Product 1"), new ProductNameDTO(2L, "Product 2")));
+        when(productRepository.findResponses(ArgumentMatchers.<Specification<ProductModel>>any(), eq(pageable))).thenReturn(mockResponsePage);
+
+        productService.rebuildNameIndex();
+        Page<ProductResponseDTO> products = productService.getAllProducts(new ProductFilterDTO("product", null, null), pageable);
+
+        assertEquals(2, products.getTotalElements());
+        verify(productRepository, never()).findResponsesByFilters(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should return an empty page without querying when no indexed name matches")
+    void getProductsWithUnmatchedIndexedName() {
+        when(productRepository.streamProductNames()).thenReturn(Stream.of(new ProductNameDTO(1L, "Product 1")));
+
+        productService.rebuildNameIndex();
+        Page<ProductResponseDTO> products = productService.getAllProducts(new ProductFilterDTO("kiwi", null, null), pageable);
+
+        assertEquals(0, products.getTotalElements());
+        verify(productRepository, never()).findResponses(ArgumentMatchers.<Specification<ProductModel>>any(), any(org.springframework.data.domain.Pageable.class));
+    }
+
+    @Test
+    @DisplayName("Should search product names in ranked order")
+    void searchProductsByName() {
+        productNameIndex.put(1L, "Product 1");
+        productNameIndex.put(2L, "Old Product 2");
+        when(productRepository.findResponsesByIdIn(List.of(1L, 2L)))
+                .thenReturn(List.of(mockProductResponses.get(1), mockProductResponses.get(0)));
+
+        List<ProductResponseDTO> results = productService.searchProductsByName("product", 10);
+
+        assertEquals(List.of(1L, 2L), results.stream().map(ProductResponseDTO::getId).toList());
+        assertThrows(ProductException.class, () -> productService.searchProductsByName("product", 500));
+    }
+
+    @Test
+    @DisplayName("Should return a slice and a continuation cursor without counting")
+    void getProductsAfterCursor() {
+        ProductResponseDTO product3 = new ProductResponseDTO();
+        product3.setId(3L);
+        product3.setName("Product 3");
+        product3.setCategory("Books");
+        product3.setStockQuantity(1);
+
+        when(productRepository.findResponses(ArgumentMatchers.<Specification<ProductModel>>any(), eq(Sort.by("name", "id")), eq(3)))
+                .thenReturn(List.of(mockProductResponses.get(0), mockProductResponses.get(1), product3));
+
+        ProductSliceDTO slice = productService.getProductsAfterCursor(new ProductFilterDTO(), "",
+                PageRequest.of(0, 2, Sort.by("name")));
+
+        assertEquals(2, slice.getContent().size());
+        assertTrue(slice.isHasNext());
+        ProductCursor next = ProductCursor.decode(slice.getNextCursor());
+        assertEquals("name", next.property());
+        assertEquals(Sort.Direction.ASC, next.direction());
+        assertEquals("Product 2", next.value());
+        assertEquals(2L, next.id());
+        verify(productRepository, never()).count(ArgumentMatchers.<Specification<ProductModel>>any());
+    }
+
+    @Test
+    @DisplayName("Should reject cursor pagination on unsupported sort properties and malformed cursors")
+    void getProductsAfterCursor_BadRequest() {
+        ProductException unsupported = assertThrows(ProductException.class, () -> productService.getProductsAfterCursor(
+                new ProductFilterDTO(), null, PageRequest.of(0, 10, Sort.by("expirationDate"))));
+        assertEquals(HttpStatus.BAD_REQUEST, unsupported.getStatus());
+
+        ProductException malformed = assertThrows(ProductException.class, () -> productService.getProductsAfterCursor(
+                new ProductFilterDTO(), "not-a-cursor", pageable));
+        assertEquals(HttpStatus.BAD_REQUEST, malformed.getStatus());
     }
 
     @Test
     @DisplayName("Should return product when valid ID is provided")
     void getProductById() {
-        ProductModel expectedProduct = new ProductModel();
-        expectedProduct.setId(1L);
-        expectedProduct.setName("Test Product");
-        expectedProduct.setCategory("Electronics");
-        expectedProduct.setStockQuantity(7);
+        ProductResponseDTO expectedProduct = new ProductResponseDTO(
+                1L, "Test Product", "Electronics", null, null, 7, null, null, 0L);
 
-        when(productRepository.findById(1L)).thenReturn(Optional.of(expectedProduct));
+        when(productRepository.findResponseById(1L)).thenReturn(Optional.of(expectedProduct));
 
         ProductResponseDTO result = productService.getProductById(1L);
 
         assertNotNull(result);
         assertEquals("Test Product", result.getName());
         assertEquals("Electronics", result.getCategory());
-        verify(productRepository, times(1)).findById(1L);
+        assertTrue(result.isInStock());
+        verify(productRepository, times(1)).findResponseById(1L);
     }
 
     @Test
@@ -159,16 +278,16 @@ public class ProductServiceTest {
         updatedProduct.setUnitPrice(new BigDecimal("150.00"));
         updatedProduct.setStockQuantity(12);
 
-        when(productRepository.findById(productId)).thenReturn(Optional.of(existingProduct));
-        when(productRepository.save(any(ProductModel.class))).thenReturn(updatedProduct);
+        when(productRepository.findUncachedById(productId)).thenReturn(Optional.of(existingProduct));
+        when(productRepository.saveAndFlush(any(ProductModel.class))).thenReturn(updatedProduct);
 
         ProductResponseDTO result = productService.updateProduct(productId, updateData);
 
         assertNotNull(result);
         assertEquals("Updated Product", result.getName());
         assertEquals("Electronics", result.getCategory());
-        verify(productRepository, times(1)).findById(productId);
-        verify(productRepository, times(1)).save(any(ProductModel.class));
+        verify(productRepository, times(1)).findUncachedById(productId);
+        verify(productRepository, times(1)).saveAndFlush(any(ProductModel.class));
     }
 
     @Test
@@ -183,15 +302,15 @@ public class ProductServiceTest {
         outOfStockProduct.setId(productId);
         outOfStockProduct.setStockQuantity(0);
 
-        when(productRepository.findById(productId)).thenReturn(Optional.of(product));
-        when(productRepository.save(any(ProductModel.class))).thenReturn(outOfStockProduct);
+        when(productRepository.findUncachedById(productId)).thenReturn(Optional.of(product));
+        when(productRepository.saveAndFlush(any(ProductModel.class))).thenReturn(outOfStockProduct);
 
         ProductResponseDTO result = productService.markOutOfStock(productId);
 
         assertNotNull(result);
         assertEquals(0, result.getStockQuantity());
-        verify(productRepository, times(1)).findById(productId);
-        verify(productRepository, times(1)).save(any(ProductModel.class));
+        verify(productRepository, times(1)).findUncachedById(productId);
+        verify(productRepository, times(1)).saveAndFlush(any(ProductModel.class));
     }
 
     @Test
@@ -207,15 +326,15 @@ public class ProductServiceTest {
         inStockProduct.setId(productId);
         inStockProduct.setStockQuantity(quantity);
 
-        when(productRepository.findById(productId)).thenReturn(Optional.of(product));
-        when(productRepository.save(any(ProductModel.class))).thenReturn(inStockProduct);
+        when(productRepository.findUncachedById(productId)).thenReturn(Optional.of(product));
+        when(productRepository.saveAndFlush(any(ProductModel.class))).thenReturn(inStockProduct);
 
         ProductResponseDTO result = productService.markInStock(productId, quantity);
 
         assertNotNull(result);
         assertEquals(quantity, result.getStockQuantity());
-        verify(productRepository, times(1)).findById(productId);
-        verify(productRepository, times(1)).save(any(ProductModel.class));
+        verify(productRepository, times(1)).findUncachedById(productId);
+        verify(productRepository, times(1)).saveAndFlush(any(ProductModel.class));
     }
 
     @Test
@@ -224,63 +343,61 @@ public class ProductServiceTest {
         String category = "Electronics";
         Integer expectedTotal = 100;
 
-        when(productRepository.getTotalProductStockInCategory(category)).thenReturn(expectedTotal);
+        categoryAggregateStore.rebuild(List.of(new CategoryAggregateDTO(category, 4L, 100L, new BigDecimal("502.00"), new BigDecimal("1500.00"), 0L)));
 
         Integer result = productService.getTotalProductsInStockInCategory(category);
 
         assertNotNull(result);
         assertEquals(expectedTotal, result);
-        verify(productRepository, times(1)).getTotalProductStockInCategory(category);
     }
 
     @Test
     @DisplayName("Should return total value in category")
     void getTotalValueInCategory() {
         String category = "Electronics";
-        Float expectedValue = 1500.0f;
+        BigDecimal expectedValue = new BigDecimal("1500.00");
 
-        when(productRepository.getTotalValueInCategory(category)).thenReturn(expectedValue);
+        categoryAggregateStore.rebuild(List.of(new CategoryAggregateDTO(category, 4L, 100L, new BigDecimal("502.00"), new BigDecimal("1500.00"), 0L)));
 
-        Float result = productService.getTotalValueInCategory(category);
+        BigDecimal result = productService.getTotalValueInCategory(category);
 
         assertNotNull(result);
         assertEquals(expectedValue, result);
-        verify(productRepository, times(1)).getTotalValueInCategory(category);
     }
 
     @Test
     @DisplayName("Should return average value in category")
     void getAverageValueInCategory() {
         String category = "Electronics";
-        Float expectedAverage = 125.5f;
+        BigDecimal expectedAverage = new BigDecimal("125.50");
 
-        when(productRepository.getAverageValueInCategory(category)).thenReturn(expectedAverage);
+        categoryAggregateStore.rebuild(List.of(new CategoryAggregateDTO(category, 4L, 100L, new BigDecimal("502.00"), new BigDecimal("1500.00"), 0L)));
 
-        Float result = productService.getAverageValueInCategory(category);
+        BigDecimal result = productService.getAverageValueInCategory(category);
 
         assertNotNull(result);
         assertEquals(expectedAverage, result);
-        verify(productRepository, times(1)).getAverageValueInCategory(category);
     }
 
     @Test
     @DisplayName("Should return overall average value")
     void getAverageValue() {
-        Float expectedAverage = 98.75f;
+        BigDecimal expectedAverage = new BigDecimal("98.75");
 
-        when(productRepository.getAverageValue()).thenReturn(expectedAverage);
+        categoryAggregateStore.rebuild(List.of(
+                new CategoryAggregateDTO("Electronics", 3L, 30L, new BigDecimal("300.00"), new BigDecimal("3000.00"), 0L),
+                new CategoryAggregateDTO("Books", 1L, 5L, new BigDecimal("95.00"), new BigDecimal("475.00"), 0L)));
 
-        Float result = productService.getAverageValue();
+        BigDecimal result = productService.getAverageValue();
 
         assertNotNull(result);
         assertEquals(expectedAverage, result);
-        verify(productRepository, times(1)).getAverageValue();
     }
 
     @Test
     @DisplayName("Should throw ProductException when product not found by ID")
     void getProductById_NotFound() {
-        when(productRepository.findById(99L)).thenReturn(Optional.empty());
+        when(productRepository.findResponseById(99L)).thenReturn(Optional.empty());
         ProductException ex = assertThrows(ProductException.class, () -> productService.getProductById(99L));
         assertEquals("Did not find product with id 99", ex.getMessage());
     }
@@ -288,7 +405,7 @@ public class ProductServiceTest {
     @Test
     @DisplayName("Should throw ProductException when updating non-existent product")
     void updateProduct_NotFound() {
-        when(productRepository.findById(99L)).thenReturn(Optional.empty());
+        when(productRepository.findUncachedById(99L)).thenReturn(Optional.empty());
         ProductRequestDTO updateData = new ProductRequestDTO();
         updateData.setName("Updated");
         updateData.setCategory("Electronics");
@@ -301,7 +418,7 @@ public class ProductServiceTest {
     @Test
     @DisplayName("Should throw ProductException when deleting non-existent product")
     void deleteProduct_NotFound() {
-        when(productRepository.existsById(99L)).thenReturn(false);
+        when(productRepository.findUncachedById(99L)).thenReturn(Optional.empty());
         ProductException ex = assertThrows(ProductException.class, () -> productService.deleteProduct(99L));
         assertTrue(ex.getMessage().contains("Product not found with id: 99"));
     }
@@ -309,7 +426,7 @@ public class ProductServiceTest {
     @Test
     @DisplayName("Should throw ProductException when marking out of stock for non-existent product")
     void markOutOfStock_NotFound() {
-        when(productRepository.findById(99L)).thenReturn(Optional.empty());
+        when(productRepository.findUncachedById(99L)).thenReturn(Optional.empty());
         ProductException ex = assertThrows(ProductException.class, () -> productService.markOutOfStock(99L));
         assertTrue(ex.getMessage().contains("Product not found with id: 99"));
     }
@@ -317,15 +434,33 @@ public class ProductServiceTest {
     @Test
     @DisplayName("Should throw ProductException when marking in stock for non-existent product")
     void markInStock_NotFound() {
-        when(productRepository.findById(99L)).thenReturn(Optional.empty());
+        when(productRepository.findUncachedById(99L)).thenReturn(Optional.empty());
         ProductException ex = assertThrows(ProductException.class, () -> productService.markInStock(99L, 10));
         assertTrue(ex.getMessage().contains("Product not found with id: 99"));
     }
 
+    @Test
+    @DisplayName("Should return 404 when adjusting stock of a non-existent product")
+    void adjustStock_NotFound() {
+        when(productRepository.adjustStock(99L, 5)).thenReturn(Optional.empty());
+        when(productRepository.existsById(99L)).thenReturn(false);
+        ProductException ex = assertThrows(ProductException.class, () -> productService.adjustStock(99L, 5));
+        assertEquals(HttpStatus.NOT_FOUND, ex.getStatus());
+    }
+
+    @Test
+    @DisplayName("Should return 409 when a stock adjustment would go below zero")
+    void adjustStock_InsufficientStock() {
+        when(productRepository.adjustStock(1L, -50)).thenReturn(Optional.empty());
+        when(productRepository.existsById(1L)).thenReturn(true);
+        ProductException ex = assertThrows(ProductException.class, () -> productService.adjustStock(1L, -50));
+        assertEquals(HttpStatus.CONFLICT, ex.getStatus());
+        verify(productRepository, never()).findUncachedById(1L);
+    }
+
     @Test
     @DisplayName("Should throw ProductException when getting total products in stock for non-existent category")
     void getTotalProductsInStockInCategory_NotFound() {
-        when(productRepository.getTotalProductStockInCategory("NonExistent")).thenReturn(null);
         ProductException ex = assertThrows(ProductException.class, () -> productService.getTotalProductsInStockInCategory("NonExistent"));
         assertTrue(ex.getMessage().contains("No products found in category: NonExistent"));
     }
@@ -333,7 +468,6 @@ public class ProductServiceTest {
     @Test
     @DisplayName("Should throw ProductException when getting total value in non-existent category")
     void getTotalValueInCategory_NotFound() {
-        when(productRepository.getTotalValueInCategory("NonExistent")).thenReturn(null);
         ProductException ex = assertThrows(ProductException.class, () -> productService.getTotalValueInCategory("NonExistent"));
         assertTrue(ex.getMessage().contains("No products found in category: NonExistent"));
     }
@@ -341,7 +475,6 @@ public class ProductServiceTest {
     @Test
     @DisplayName("Should throw ProductException when getting average value in non-existent category")
     void getAverageValueInCategory_NotFound() {
-        when(productRepository.getAverageValueInCategory("NonExistent")).thenReturn(null);
         ProductException ex = assertThrows(ProductException.class, () -> productService.getAverageValueInCategory("NonExistent"));
         assertTrue(ex.getMessage().contains("No products found in category: NonExistent"));
     }
@@ -349,7 +482,6 @@ public class ProductServiceTest {
     @Test
     @DisplayName("Should throw ProductException when getting overall average value and no products exist")
     void getAverageValue_NotFound() {
-        when(productRepository.getAverageValue()).thenReturn(null);
         ProductException ex = assertThrows(ProductException.class, () -> productService.getAverageValue());
         assertTrue(ex.getMessage().contains("No products found."));
     }
@@ -357,8 +489,121 @@ public class ProductServiceTest {
     @Test
     @DisplayName("Should throw ProductException when getting category metrics for non-existent category")
     void getCategoryMetrics_NotFound() {
-        when(productRepository.getCategoryMetrics("NonExistent")).thenReturn(null);
         ProductException ex = assertThrows(ProductException.class, () -> productService.getCategoryMetrics("NonExistent"));
         assertTrue(ex.getMessage().contains("No products found in category: NonExistent"));
     }
+
+    @Test
+    @DisplayName("Should rebuild category aggregates from the database")
+    void rebuildCategoryAggregates() {
+        when(productRepository.getCategoryAggregates()).thenReturn(List.of(
+                new CategoryAggregateDTO("Electronics", 2L, 12L, new BigDecimal("30.00"), new BigDecimal("180.00"), 0L)));
+
+        productService.rebuildCategoryAggregates();
+        CategoryMetricsDTO metrics = productService.getCategoryMetrics("Electronics");
+
+        assertEquals(12, metrics.getTotalStock());
+        assertEquals(new BigDecimal("30.00"), metrics.getTotalUnitPriceSum());
+        assertEquals(new BigDecimal("15.00"), metrics.getAverageUnitPrice());
+        verify(productRepository, times(1)).getCategoryAggregates();
+    }
+
+    @Test
+    @DisplayName("Should keep category aggregates current across writes")
+    void categoryAggregatesFollowWrites() {
+        ProductModel saved = new ProductModel();
+        saved.setId(1L);
+        saved.setName("Monitor");
+        saved.setCategory("Electronics");
+        saved.setUnitPrice(new BigDecimal("200.00"));
+        saved.setStockQuantity(3);
+        when(productRepository.save(any(ProductModel.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(productRepository.saveAndFlush(any(ProductModel.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(productRepository.findUncachedById(1L)).thenReturn(Optional.of(saved));
+
+        productService.createProduct(new ProductRequestDTO("Monitor", "Electronics", new BigDecimal("200.00"), null, 3));
+        assertEquals(3, productService.getTotalProductsInStockInCategory("Electronics"));
+        assertEquals(new BigDecimal("600.00"), productService.getTotalValueInCategory("Electronics"));
+
+        productService.markInStock(1L, 5);
+        assertEquals(5, productService.getTotalProductsInStockInCategory("Electronics"));
+        assertEquals(new BigDecimal("1000.00"), productService.getTotalValueInCategory("Electronics"));
+
+        productService.updateProduct(1L, new ProductRequestDTO("Monitor", "Office", new BigDecimal("150.00"), null, 5));
+        assertThrows(ProductException.class, () -> productService.getCategoryMetrics("Electronics"));
+        assertEquals(new BigDecimal("750.00"), productService.getTotalValueInCategory("Office"));
+
+        assertEquals(0L, productService.getCategoryMetrics("Office").getOutOfStockCount());
+
+        productService.markOutOfStock(1L);
+        assertEquals(0, productService.getTotalProductsInStockInCategory("Office"));
+        assertEquals(new BigDecimal("150.00"), productService.getAverageValueInCategory("Office"));
+        assertEquals(1L, productService.getCategoryMetrics("Office").getOutOfStockCount());
+
+        productService.deleteProduct(1L);
+        assertThrows(ProductException.class, () -> productService.getCategoryMetrics("Office"));
+        assertThrows(ProductException.class, () -> productService.getAverageValue());
+    }
+
+    @Test
+    @DisplayName("Should return metrics for all or selected categories with the catalog totals")
+    void getAllCategoryMetrics() {
+        when(productRepository.getCategoryAggregates()).thenReturn(List.of(
+                new CategoryAggregateDTO("Electronics", 3L, 30L, new BigDecimal("300.00"), new BigDecimal("3000.00"), 1L),
+                new CategoryAggregateDTO("Books", 1L, 5L, new BigDecimal("95.00"), new BigDecimal("475.00"), 0L)));
+        productService.rebuildCategoryAggregates();
+
+        CategoryMetricsSummaryDTO all = productService.getAllCategoryMetrics(null);
+        assertEquals(List.of("Books", "Electronics"), List.copyOf(all.getCategories().keySet()));
+        CategoryMetricsDTO electronics = all.getCategories().get("Electronics");
+        assertEquals(30, electronics.getTotalStock());
+        assertEquals(new BigDecimal("100.00"), electronics.getAverageUnitPrice());
+        assertEquals(1L, electronics.getOutOfStockCount());
+        assertEquals(new BigDecimal("3000.00"), electronics.getTotalValue());
+        assertEquals(4L, all.getOverall().getProductCount());
+        assertEquals(35, all.getOverall().getTotalStock());
+        assertEquals(new BigDecimal("3475.00"), all.getOverall().getTotalValue());
+        assertEquals(new BigDecimal("98.75"), all.getOverall().getAverageUnitPrice());
+
+        CategoryMetricsSummaryDTO some = productService.getAllCategoryMetrics(List.of("Books", "Garden"));
+        assertEquals(List.of("Books"), List.copyOf(some.getCategories().keySet()));
+        assertEquals(4L, some.getOverall().getProductCount());
+        verify(productRepository, times(1)).getCategoryAggregates();
+    }
+
+    @Test
+    @DisplayName("Should keep money aggregates exact to the cent over many updates")
+    void moneyAggregatesDoNotDrift() {
+        categoryAggregateStore.rebuild(List.of());
+        // 0.10 has no exact binary representation, so a float running total would drift here
+        for (int i = 0; i < 100_000; i++) {
+            categoryAggregateStore.add(new Contribution("Pennies", 3, 10));
+        }
+        for (int i = 0; i < 100_000; i++) {
+            categoryAggregateStore.adjustStock("Pennies", 10, 3, 1);
+        }
+
+        assertEquals(new BigDecimal("10000.00"), productService.getTotalValueInCategory("Pennies"));
+        assertEquals(new BigDecimal("0.10"), productService.getAverageValueInCategory("Pennies"));
+        assertEquals(new BigDecimal("10000.00"), productService.getCategoryMetrics("Pennies").getTotalUnitPriceSum());
+    }
+
+    @Test
+    @DisplayName("Should keep category aggregates exact when commits apply their changes out of order")
+    void aggregatesTolerateReorderedChanges() {
+        categoryAggregateStore.rebuild(List.of());
+        categoryAggregateStore.add(new Contribution("Hot", 1, 200));
+
+        // The second write committed after the first, but its change is applied first
+        categoryAggregateStore.remove(new Contribution("Hot", 2, 200));
+        categoryAggregateStore.add(new Contribution("Hot", 3, 200));
+        assertTrue(categoryAggregateStore.get("Hot").isPresent());
+        categoryAggregateStore.replace(new Contribution("Hot", 1, 200), new Contribution("Hot", 2, 200));
+
+        assertEquals(3, productService.getTotalProductsInStockInCategory("Hot"));
+        assertEquals(new BigDecimal("6.00"), productService.getTotalValueInCategory("Hot"));
+
+        categoryAggregateStore.remove(new Contribution("Hot", 3, 200));
+        assertThrows(ProductException.class, () -> productService.getCategoryMetrics("Hot"));
+    }
 }
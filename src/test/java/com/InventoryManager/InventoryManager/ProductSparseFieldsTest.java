@@ -0,0 +1,124 @@
+package com.InventoryManager.InventoryManager;
+
+import com.InventoryManager.InventoryManager.dto.ProductException;
+import com.InventoryManager.InventoryManager.dto.ProductFields;
+import com.InventoryManager.InventoryManager.dto.ProductFilterDTO;
+import com.InventoryManager.InventoryManager.dto.ProductRequestDTO;
+import com.InventoryManager.InventoryManager.dto.ProductResponseDTO;
+import com.InventoryManager.InventoryManager.repository.ProductRepository;
+import com.InventoryManager.InventoryManager.repository.ProductSpecifications;
+import com.InventoryManager.InventoryManager.service.ProductService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:sparsefieldstest",
+        "inventory.expiry.sweep-enabled=false"
+})
+@AutoConfigureMockMvc
+public class ProductSparseFieldsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Long create(String name, String category, int stock) {
+        return productService.createProduct(new ProductRequestDTO(
+                name, category, new BigDecimal("4.20"), LocalDate.of(2030, 1, 1), stock)).getId();
+    }
+
+    private JsonNode fetch(String url) throws Exception {
+        return objectMapper.readTree(mockMvc.perform(get(url)).andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+    }
+
+    private static Set<String> names(JsonNode node) {
+        Set<String> names = new HashSet<>();
+        node.fieldNames().forEachRemaining(names::add);
+        return names;
+    }
+
+    @Test
+    @DisplayName("Should serialize only the requested fields of list pages and single products")
+    void narrowsJson() throws Exception {
+        Long id = create("Bolt", "SparseJson", 3);
+        create("Nut", "SparseJson", 0);
+
+        JsonNode page = fetch("/api/products?category=SparseJson&sort=name&fields=id,name,stockQuantity");
+        assertEquals(2, page.get("totalElements").asInt());
+        for (JsonNode product : page.get("content")) {
+            assertEquals(Set.of("id", "name", "stockQuantity"), names(product));
+        }
+        assertEquals("Bolt", page.get("content").get(0).get("name").asText());
+
+        JsonNode product = fetch("/api/products/" + id + "?fields=name,inStock");
+        assertEquals(Set.of("name", "inStock"), names(product));
+        assertTrue(product.get("inStock").asBoolean());
+
+        // Without fields every property is written, as before
+        assertEquals(Set.copyOf(ProductFields.ALL_NAMES), names(fetch("/api/products/" + id)));
+    }
+
+    @Test
+    @DisplayName("Should select only the requested columns and derive inStock only when asked for")
+    void narrowsQuery() {
+        Long id = create("Washer", "SparseQuery", 5);
+        ProductFilterDTO filter = new ProductFilterDTO(null, List.of("SparseQuery"), null);
+
+        Page<ProductResponseDTO> page = productRepository.findResponses(
+                ProductSpecifications.withFilters(filter, LocalDate.now()),
+                PageRequest.of(0, 10, Sort.by("id")), ProductFields.parse("id,name"));
+        ProductResponseDTO first = page.getContent().get(0);
+        assertNotNull(first.getId());
+        assertNotNull(first.getName());
+        assertNull(first.getCategory());
+        assertNull(first.getUnitPrice());
+        assertNull(first.getStockQuantity());
+        assertFalse(first.isInStock());
+
+        ProductResponseDTO inStock = productRepository.findResponseById(id, ProductFields.parse("inStock")).orElseThrow();
+        assertTrue(inStock.isInStock());
+        assertEquals(5, inStock.getStockQuantity());
+        assertNull(inStock.getName());
+    }
+
+    @Test
+    @DisplayName("Should reject fields that ProductResponseDTO does not have")
+    void rejectsUnknownFields() throws Exception {
+        ProductException unknown = assertThrows(ProductException.class, () -> ProductFields.parse("id,price"));
+        assertEquals(HttpStatus.BAD_REQUEST, unknown.getStatus());
+        assertThrows(ProductException.class, () -> ProductFields.parse("id,,name"));
+        assertEquals(ProductFields.ALL, ProductFields.parse(" "));
+
+        mockMvc.perform(get("/api/products?fields=id,secret")).andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/products/" + create("Rivet", "SparseInvalid", 1) + "?fields=color")).andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,143 @@
+package com.InventoryManager.InventoryManager;
+
+import com.InventoryManager.InventoryManager.dto.ProductException;
+import com.InventoryManager.InventoryManager.dto.ProductRequestDTO;
+import com.InventoryManager.InventoryManager.repository.ProductRepository;
+import com.InventoryManager.InventoryManager.service.ProductService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:stocktest")
+public class ProductStockConcurrencyTest {
+    private static final int THREADS = 8;
+    private static final int OPERATIONS_PER_THREAD = 1_000;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    private Long createProduct(String category, int stock) {
+        return productService.createProduct(new ProductRequestDTO("Hot SKU", category, new BigDecimal("2.00"), null, stock)).getId();
+    }
+
+    private static void runConcurrently(Callable<Void> task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Void>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return task.call();
+                }));
+            }
+            start.countDown();
+            for (Future<Void> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Should not lose concurrent stock increments on a single product")
+    void concurrentIncrements() throws Exception {
+        Long id = createProduct("StockIncrements", 0);
+
+        runConcurrently(() -> {
+            for (int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+                productService.adjustStock(id, 1);
+            }
+            return null;
+        });
+
+        int operations = THREADS * OPERATIONS_PER_THREAD;
+        assertEquals(operations, productRepository.findById(id).orElseThrow().getStockQuantity());
+        assertEquals(operations, productService.getTotalProductsInStockInCategory("StockIncrements"));
+        assertEquals(operations, productService.getProductById(id).getStockQuantity());
+        assertEquals(0L, productService.getCategoryMetrics("StockIncrements").getOutOfStockCount());
+    }
+
+    @Test
+    @DisplayName("Should never take stock below zero under concurrent decrements")
+    void concurrentDecrements() throws Exception {
+        int initialStock = 2_500;
+        Long id = createProduct("StockDecrements", initialStock);
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+
+        runConcurrently(() -> {
+            for (int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+                try {
+                    productService.adjustStock(id, -1);
+                    succeeded.incrementAndGet();
+                } catch (ProductException e) {
+                    assertEquals(HttpStatus.CONFLICT, e.getStatus());
+                    rejected.incrementAndGet();
+                }
+            }
+            return null;
+        });
+
+        assertEquals(initialStock, succeeded.get());
+        assertEquals(THREADS * OPERATIONS_PER_THREAD - initialStock, rejected.get());
+        assertEquals(0, productRepository.findById(id).orElseThrow().getStockQuantity());
+        assertEquals(0, productService.getTotalProductsInStockInCategory("StockDecrements"));
+        assertEquals(new BigDecimal("0.00"), productService.getTotalValueInCategory("StockDecrements"));
+        assertEquals(1L, productService.getCategoryMetrics("StockDecrements").getOutOfStockCount());
+    }
+
+    @Test
+    @DisplayName("Should keep category aggregates equal to the rows under concurrent writes to one product")
+    void concurrentWritesKeepAggregates() throws Exception {
+        Long id = createProduct("StockWrites", 1);
+        AtomicInteger next = new AtomicInteger();
+
+        runConcurrently(() -> {
+            for (int i = 0; i < 50; i++) {
+                try {
+                    productService.markInStock(id, next.incrementAndGet());
+                } catch (OptimisticLockingFailureException e) {
+                    // Another write moved the version first; this one changed nothing
+                }
+            }
+            return null;
+        });
+
+        int stock = productRepository.findById(id).orElseThrow().getStockQuantity();
+        assertEquals(stock, productService.getTotalProductsInStockInCategory("StockWrites"));
+        assertEquals(new BigDecimal("2.00").multiply(BigDecimal.valueOf(stock)), productService.getTotalValueInCategory("StockWrites"));
+
+        AtomicInteger deleted = new AtomicInteger();
+        runConcurrently(() -> {
+            try {
+                productService.deleteProduct(id);
+                deleted.incrementAndGet();
+            } catch (OptimisticLockingFailureException | ProductException e) {
+                // Only one delete of the row counts
+            }
+            return null;
+        });
+        assertEquals(1, deleted.get());
+        assertThrows(ProductException.class, () -> productService.getCategoryMetrics("StockWrites"));
+    }
+}
@@ -0,0 +1,101 @@
+package com.InventoryManager.InventoryManager;
+
+import com.InventoryManager.InventoryManager.dto.ProductRequestDTO;
+import com.InventoryManager.InventoryManager.service.ProductService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.cfg.JsonNodeFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:wireformattest",
+        "inventory.expiry.sweep-enabled=false"
+})
+@AutoConfigureMockMvc
+public class ProductWireFormatTest {
+    private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // Trees keep the scale of decimals, so prices come back out as 12.50 rather than 12.5
+    private final ObjectMapper cbor = new ObjectMapper(new CBORFactory())
+            .configure(JsonNodeFeature.STRIP_TRAILING_BIGDECIMAL_ZEROES, false);
+    private final ObjectMapper smile = new ObjectMapper(new SmileFactory())
+            .configure(JsonNodeFeature.STRIP_TRAILING_BIGDECIMAL_ZEROES, false);
+
+    private MockHttpServletResponse fetch(String url, MediaType accept) throws Exception {
+        return mockMvc.perform(get(url).accept(accept)).andExpect(status().isOk()).andReturn().getResponse();
+    }
+
+    // Decodes the binary body and writes it back out as JSON, which must give the JSON body byte for byte
+    private void assertSameAsJson(String url) throws Exception {
+        String json = fetch(url, MediaType.APPLICATION_JSON).getContentAsString();
+
+        MockHttpServletResponse cborResponse = fetch(url, MediaType.APPLICATION_CBOR);
+        assertEquals(MediaType.APPLICATION_CBOR_VALUE, cborResponse.getContentType());
+        assertTrue(cborResponse.getHeaders(HttpHeaders.VARY).contains(HttpHeaders.ACCEPT));
+        assertEquals(json, objectMapper.writeValueAsString(cbor.readTree(cborResponse.getContentAsByteArray())));
+
+        MockHttpServletResponse smileResponse = fetch(url, SMILE);
+        assertEquals(SMILE.toString(), smileResponse.getContentType());
+        assertEquals(json, objectMapper.writeValueAsString(smile.readTree(smileResponse.getContentAsByteArray())));
+
+        // The encodings share one tag, so it must be weak
+        assertTrue(cborResponse.getHeader(HttpHeaders.ETAG).startsWith("W/"));
+        assertEquals(cborResponse.getHeader(HttpHeaders.ETAG), smileResponse.getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    @DisplayName("Should serve products, pages, slices and metrics as CBOR and Smile with the same content as JSON")
+    void negotiatesBinaryFormats() throws Exception {
+        Long id = productService.createProduct(new ProductRequestDTO(
+                "Drill", "WireTools", new BigDecimal("89.90"), LocalDate.of(2031, 3, 1), 7)).getId();
+        productService.createProduct(new ProductRequestDTO("Chisel", "WireTools", new BigDecimal("12.50"), null, 0));
+
+        assertSameAsJson("/api/products/" + id);
+        assertSameAsJson("/api/products?category=WireTools&sort=name");
+        assertSameAsJson("/api/products?category=WireTools&cursor=&size=1");
+        assertSameAsJson("/api/products/categoryMetrics/WireTools");
+        assertSameAsJson("/api/products/categoryMetrics?category=WireTools");
+    }
+
+    @Test
+    @DisplayName("Should keep JSON as the default and accept binary request bodies")
+    void defaultsToJson() throws Exception {
+        assertEquals(MediaType.APPLICATION_JSON_VALUE,
+                mockMvc.perform(get("/api/products")).andExpect(status().isOk()).andReturn().getResponse().getContentType());
+        mockMvc.perform(get("/api/products").accept(MediaType.parseMediaType("application/x-protobuf")))
+                .andExpect(status().isNotAcceptable());
+
+        byte[] body = cbor.writeValueAsBytes(new ProductRequestDTO(
+                "Level", "WireTools", new BigDecimal("19.00"), null, 2));
+        byte[] created = mockMvc.perform(post("/api/products").contentType(MediaType.APPLICATION_CBOR)
+                        .accept(MediaType.APPLICATION_CBOR).content(body))
+                .andExpect(status().isCreated()).andReturn().getResponse().getContentAsByteArray();
+        assertEquals("Level", cbor.readTree(created).get("name").asText());
+    }
+}
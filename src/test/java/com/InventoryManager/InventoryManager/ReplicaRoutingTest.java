@@ -0,0 +1,126 @@
+package com.InventoryManager.InventoryManager;
+
+import com.InventoryManager.InventoryManager.config.ReadRouting;
+import com.InventoryManager.InventoryManager.config.ReplicaRoutingDataSource;
+import com.InventoryManager.InventoryManager.dto.ProductFilterDTO;
+import com.InventoryManager.InventoryManager.dto.ProductRequestDTO;
+import com.InventoryManager.InventoryManager.dto.ProductResponseDTO;
+import com.InventoryManager.InventoryManager.service.CategoryDictionary;
+import com.InventoryManager.InventoryManager.service.ProductService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Two unrelated in-memory databases stand in for the primary and its replica, so each read shows where it went
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routingprimary",
+        "inventory.expiry.sweep-enabled=false",
+        "inventory.seed.enabled=false",
+        "inventory.replicas.enabled=true",
+        "inventory.replicas.pools[0].url=jdbc:h2:mem:routingreplica;DB_CLOSE_DELAY=-1",
+        "inventory.replicas.pools[0].username=sa",
+        "inventory.replicas.migrate=true",
+        "inventory.replicas.max-lag=300ms"
+})
+@AutoConfigureMockMvc
+public class ReplicaRoutingTest {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private CategoryDictionary categoryDictionary;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private List<String> listedNames() {
+        ProductFilterDTO filter = new ProductFilterDTO(null, List.of("Routing"), null);
+        return productService.getAllProducts(filter, PageRequest.of(0, 10)).stream()
+                .map(ProductResponseDTO::getName)
+                .toList();
+    }
+
+    private JdbcTemplate replica() throws SQLException {
+        ReplicaRoutingDataSource routing = dataSource.unwrap(ReplicaRoutingDataSource.class);
+        return new JdbcTemplate((DataSource) routing.getResolvedDataSources().get("replica-1"));
+    }
+
+    @Test
+    @DisplayName("Should read lists from the replica, and from the primary for the client that just wrote or on request")
+    void routesReadsToReplica() throws Exception {
+        Long id = productService.createProduct(new ProductRequestDTO(
+                "Primary Drill", "Routing", new BigDecimal("40.00"), LocalDate.of(2030, 1, 1), 2)).getId();
+        int categoryId = categoryDictionary.find("Routing").orElseThrow();
+        replica().update("INSERT INTO category (id, name) VALUES (?, 'Routing')", categoryId);
+        replica().update("INSERT INTO product_model (id, name, category_id, unit_price, expiration_date, stock_quantity) "
+                + "VALUES (1000, 'Replica Drill', ?, 40.00, DATE '2030-01-01', 2)", categoryId);
+
+        // A write pins no one but its own client, so reads right after it still use the replica
+        assertEquals(List.of("Replica Drill"), listedNames());
+        assertEquals(List.of("Primary Drill"), ReadRouting.onPrimary(this::listedNames));
+        // Single products are cached and always read from the primary
+        assertEquals("Primary Drill", productService.getProductById(id).getName());
+
+        mockMvc.perform(get("/api/products").param("category", "Routing"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].name", hasItem("Replica Drill")));
+        mockMvc.perform(get("/api/products").param("category", "Routing")
+                        .header(ReadRouting.CONSISTENCY_HEADER, ReadRouting.PRIMARY))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].name", not(hasItem("Replica Drill"))));
+
+        // The client that writes reads from the primary until the replicas' lag has passed
+        Cookie pin = mockMvc.perform(post("/api/products/" + id + "/outofstock"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getCookie(ReadRouting.PRIMARY_UNTIL_COOKIE);
+        assertNotNull(pin);
+        mockMvc.perform(get("/api/products").param("category", "Routing").cookie(pin))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].name", not(hasItem("Replica Drill"))));
+        String lagging = mockMvc.perform(get("/api/products").param("category", "Routing"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].name", hasItem("Replica Drill")))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        Thread.sleep(400);
+        mockMvc.perform(get("/api/products").param("category", "Routing").cookie(pin))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].name", hasItem("Replica Drill")));
+        // A page read from a replica during the lag was not tagged with the write's version, so it is sent again now
+        mockMvc.perform(get("/api/products").param("category", "Routing").header(HttpHeaders.IF_NONE_MATCH, lagging))
+                .andExpect(status().isOk());
+
+        assertTrue(meterRegistry.get("inventory.db.routed").tag("pool", "replica-1").counter().count() > 0);
+        assertNotNull(meterRegistry.get("hikaricp.connections.active").tag("pool", "replica-1").gauge());
+        assertNotNull(meterRegistry.get("hikaricp.connections.active").tag("pool", "primary").gauge());
+    }
+}
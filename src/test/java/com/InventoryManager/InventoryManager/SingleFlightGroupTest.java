@@ -0,0 +1,122 @@
+package com.InventoryManager.InventoryManager;
+
+import com.InventoryManager.InventoryManager.config.SingleFlightGroup;
+import com.InventoryManager.InventoryManager.dto.ProductException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SingleFlightGroupTest {
+    private static final int CALLERS = 8;
+
+    private SimpleMeterRegistry registry;
+    private SingleFlightGroup group;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        group = new SingleFlightGroup(registry);
+    }
+
+    private double deduplicated(String method) {
+        return registry.get("inventory.singleflight.deduplicated").tag("method", method).counter().count();
+    }
+
+    // Starts CALLERS concurrent calls of the same key whose execution blocks until every caller has arrived
+    private List<Future<String>> callConcurrently(AtomicInteger executions, SingleFlightGroup.Call<String> result,
+                                                  ExecutorService executor) throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Future<String>> futures = new ArrayList<>();
+        futures.add(executor.submit(() -> {
+            try {
+                return group.execute("getAllProducts", "first-page", () -> {
+                    executions.incrementAndGet();
+                    started.countDown();
+                    assertTrue(release.await(5, TimeUnit.SECONDS));
+                    return result.run();
+                });
+            } catch (Throwable e) {
+                throw e instanceof Exception exception ? exception : new RuntimeException(e);
+            }
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        for (int i = 1; i < CALLERS; i++) {
+            futures.add(executor.submit(() -> {
+                try {
+                    return group.execute("getAllProducts", "first-page", () -> {
+                        executions.incrementAndGet();
+                        return result.run();
+                    });
+                } catch (Throwable e) {
+                    throw e instanceof Exception exception ? exception : new RuntimeException(e);
+                }
+            }));
+        }
+        // The followers count themselves before they wait, so once all are counted the leader may finish
+        while (registry.find("inventory.singleflight.deduplicated").counter() == null
+                || deduplicated("getAllProducts") < CALLERS - 1) {
+            Thread.sleep(1);
+        }
+        release.countDown();
+        return futures;
+    }
+
+    @Test
+    @DisplayName("Should run identical concurrent calls once and share the result")
+    void sharesResult() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+        try {
+            AtomicInteger executions = new AtomicInteger();
+            for (Future<String> future : callConcurrently(executions, () -> "page", executor)) {
+                assertEquals("page", future.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, executions.get());
+            assertEquals(CALLERS - 1, deduplicated("getAllProducts"));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Should hand the failure of a shared call to every caller")
+    void sharesFailure() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+        try {
+            AtomicInteger executions = new AtomicInteger();
+            List<Future<String>> futures = callConcurrently(executions, () -> {
+                throw new ProductException("bad filter", HttpStatus.BAD_REQUEST);
+            }, executor);
+            for (Future<String> future : futures) {
+                Exception e = assertThrows(Exception.class, () -> future.get(5, TimeUnit.SECONDS));
+                assertInstanceOf(ProductException.class, e.getCause());
+            }
+            assertEquals(1, executions.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Should run calls again once the previous one completed, and keys apart")
+    void doesNotCacheResults() throws Throwable {
+        AtomicInteger executions = new AtomicInteger();
+        assertEquals("a1", group.execute("getAllProducts", "a", () -> "a" + executions.incrementAndGet()));
+        assertEquals("a2", group.execute("getAllProducts", "a", () -> "a" + executions.incrementAndGet()));
+        assertEquals("b3", group.execute("getAllProducts", "b", () -> "b" + executions.incrementAndGet()));
+        assertNull(registry.find("inventory.singleflight.deduplicated").counter());
+    }
+}